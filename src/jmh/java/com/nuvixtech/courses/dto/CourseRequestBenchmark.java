@@ -0,0 +1,81 @@
+package com.nuvixtech.courses.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body binding for create/update: JSON to {@link CourseRequest},
+ * then Bean Validation, for a valid body and for one that breaks every
+ * constraint (violations build interpolated messages).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseRequestBenchmark {
+
+    private static final byte[] VALID = """
+            {"code":"JAVA-101","name":"Java Fundamentals","description":"Curso introductorio de Java",\
+            "duration":40,"type":"ONLINE","price":299.99}""".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] INVALID = """
+            {"code":"","name":"","duration":-1,"price":123456789.999}""".getBytes(StandardCharsets.UTF_8);
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CourseRequest validRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validRequest = jsonMapper.readValue(VALID, CourseRequest.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public CourseRequest deserialize() {
+        return jsonMapper.readValue(VALID, CourseRequest.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CourseRequest>> validate() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CourseRequest>> deserializeAndValidate() {
+        return validator.validate(jsonMapper.readValue(VALID, CourseRequest.class));
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CourseRequest>> deserializeAndRejectInvalid() {
+        return validator.validate(jsonMapper.readValue(INVALID, CourseRequest.class));
+    }
+}
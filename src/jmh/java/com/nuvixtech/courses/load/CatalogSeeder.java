@@ -0,0 +1,165 @@
+package com.nuvixtech.courses.load;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Loads a synthetic catalog for load tests into the configured database:
+ * {@code rows} courses coded {@code LOAD-00000001...}, shaped like
+ * {@code test-courses.sql} but with a realistic spread of names, description
+ * lengths, durations and prices. The same {@code --rows} and {@code --seed}
+ * always produce the same rows. Previous {@code LOAD-} rows are replaced;
+ * other courses are left alone.
+ * <p>
+ * Rows go in through {@code COPY}, so running instances are told with a
+ * bulk change on the {@code course_changes} channel to drop their caches.
+ * The schema must already exist (start the application once).
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec@seed -Dseed.args="--rows 1000000 --seed 42"
+ * </pre>
+ */
+public final class CatalogSeeder {
+
+    static final String CODE_PREFIX = "LOAD-";
+
+    private static final String[] TOPICS = {
+            "Java", "Python", "JavaScript", "TypeScript", "React", "Angular", "Vue", "Node.js", "Spring Boot",
+            "SQL", "PostgreSQL", "MongoDB", "Docker", "Kubernetes", "AWS", "Azure", "Google Cloud", "Terraform",
+            "Linux", "Git", "DevOps", "Machine Learning", "Deep Learning", "Data Science", "Power BI", "Excel",
+            "Go", "Rust", "Kotlin", "Swift", "Flutter", "Android", "iOS", "Ciberseguridad", "Redes", "Scrum",
+            "UX/UI", "Figma", "Microservicios", "Arquitectura de Software", "Testing", "Selenium", "Blockchain",
+            "Inteligencia Artificial", "Big Data", "Spark", "Kafka", "GraphQL", "C#", ".NET"
+    };
+
+    private static final String[] FORMATS = {
+            "Curso de", "Taller de", "Bootcamp de", "Introducción a", "Máster en", "Certificación en",
+            "Programa de", "Especialización en"
+    };
+
+    private static final String[] LEVELS = {
+            "", "", "", " desde cero", " para principiantes", " intermedio", " avanzado", " profesional",
+            " práctico", " para equipos"
+    };
+
+    private static final String[] SENTENCES = {
+            "Aprende los fundamentos con ejercicios prácticos y proyectos reales.",
+            "Incluye laboratorios guiados y acceso a la comunidad de alumnos.",
+            "Orientado a desarrolladores que quieren dar el siguiente paso.",
+            "Cubre buenas prácticas, patrones de diseño y errores comunes.",
+            "Al finalizar se entrega un certificado de aprovechamiento.",
+            "Sesiones en vivo con tutores y material descargable.",
+            "Preparación para la certificación oficial del fabricante.",
+            "Se recomienda experiencia previa en programación.",
+            "Proyecto final evaluado por el equipo docente.",
+            "Contenido actualizado con las últimas versiones de las herramientas."
+    };
+
+    private static final int FLUSH_BYTES = 1 << 16;
+
+    private CatalogSeeder() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = LoadOptions.parse(args);
+        String url = options.getOrDefault("jdbc-url", System.getenv("DATABASE_URL"));
+        String user = options.getOrDefault("user", System.getenv("DATABASE_USER"));
+        String password = options.getOrDefault("password", System.getenv("DATABASE_PASS"));
+        int rows = Integer.parseInt(options.getOrDefault("rows", "10000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        if (url == null) {
+            throw new IllegalArgumentException("--jdbc-url or DATABASE_URL is required");
+        }
+
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                int removed = statement.executeUpdate("DELETE FROM courses WHERE code LIKE '" + CODE_PREFIX + "%'");
+                System.out.printf("removed %d previous %s rows%n", removed, CODE_PREFIX);
+            }
+            copy(connection.unwrap(PGConnection.class), rows, new SplittableRandom(seed));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_notify('course_changes', 'catalog-seeder|BULK|')");
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE courses");
+            }
+        }
+        System.out.printf("seeded %d courses (seed %d) in %.1fs%n", rows, seed, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void copy(PGConnection connection, int rows, SplittableRandom random) throws SQLException {
+        CopyIn copy = connection.getCopyAPI().copyIn(
+                "COPY courses (code, name, description, duration, type, price) FROM STDIN (FORMAT csv)");
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 1024);
+            for (int i = 1; i <= rows; i++) {
+                appendRow(buffer, i, random);
+                if (buffer.length() >= FLUSH_BYTES) {
+                    write(copy, buffer);
+                }
+            }
+            write(copy, buffer);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copy, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static void appendRow(StringBuilder out, int n, SplittableRandom random) {
+        // Squaring the draw skews picks towards the head of the list: a few popular topics, a long tail
+        double popularity = random.nextDouble();
+        String topic = TOPICS[(int) (popularity * popularity * TOPICS.length)];
+        String name = FORMATS[random.nextInt(FORMATS.length)] + " " + topic + LEVELS[random.nextInt(LEVELS.length)];
+        if (random.nextInt(4) == 0) {
+            name += " " + (2020 + random.nextInt(7));
+        }
+
+        out.append(CODE_PREFIX).append(String.format("%08d", n)).append(',');
+        quote(out, name).append(',');
+        if (random.nextInt(20) != 0) {
+            StringBuilder description = new StringBuilder();
+            for (int s = 1 + random.nextInt(4); s > 0; s--) {
+                if (!description.isEmpty()) {
+                    description.append(' ');
+                }
+                description.append(SENTENCES[random.nextInt(SENTENCES.length)]);
+            }
+            quote(out, description.toString());
+        }
+        out.append(',');
+        out.append(4 + (int) (196 * Math.pow(random.nextDouble(), 2))).append(',');
+        out.append(random.nextInt(5) < 3 ? "ONLINE" : "PRESENCIAL").append(',');
+        // Log-normal around 250 with a long tail, ending in .99 like a price list
+        double price = Math.exp(5.5 + 0.7 * gaussian(random));
+        out.append(Math.max(9, Math.min(4999, (long) price))).append(".99\n");
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static StringBuilder quote(StringBuilder out, String value) {
+        return out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,171 @@
+package com.nuvixtech.courses.load;
+
+import com.nuvixtech.courses.load.Workload.Operation;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load against a running instance with the {@link Workload} request
+ * mix over list, get, suggest, create, update, patch and delete.
+ * <p>
+ * With {@code --rate} the run is open-loop: requests start at a constant
+ * arrival rate whether or not earlier ones finished, and latency counts from
+ * the scheduled start, so a stalled server shows up in the percentiles
+ * instead of slowing the generator down. Without it, {@code --concurrency}
+ * clients issue requests back to back (closed loop). Latencies go to
+ * HdrHistogram; the report has throughput and percentiles per operation
+ * and overall, and {@code --hdr-out} writes the full distribution.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec@loadtest \
+ *     -Dloadtest.args="--url http://localhost:8080 --rate 500 --duration 60s --mix list=50,get=40,create=4,update=4,delete=2"
+ * </pre>
+ */
+public final class CourseLoadTest {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Workload workload;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    private CourseLoadTest(Workload workload) {
+        this.workload = workload;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_MICROS, 3));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadOptions.parse(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        String mix = options.getOrDefault("mix", Workload.DEFAULT_MIX);
+        Duration duration = LoadOptions.duration(options.getOrDefault("duration", "60s"));
+        Duration warmup = LoadOptions.duration(options.getOrDefault("warmup", "10s"));
+        int listPages = Integer.parseInt(options.getOrDefault("list-pages", "50"));
+        int idSample = Integer.parseInt(options.getOrDefault("id-sample", "10000"));
+        Integer rate = options.containsKey("rate") ? Integer.valueOf(options.get("rate")) : null;
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(clientExecutor)
+                     .build()) {
+            Workload workload = Workload.create(client, url, mix, listPages, idSample);
+            CourseLoadTest test = new CourseLoadTest(workload);
+            System.out.printf("%s - mix %s, %s, %s warmup, %s measured, %d sampled ids%n", url, mix,
+                    rate != null ? rate + " req/s open loop" : concurrency + " clients closed loop",
+                    warmup, duration, workload.sampledIds());
+
+            test.run(rate, concurrency, warmup);
+            test.reset();
+            long start = System.nanoTime();
+            test.run(rate, concurrency, duration);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            Histogram total = test.report(elapsed, rate);
+            if (options.containsKey("hdr-out")) {
+                try (PrintStream out = new PrintStream(new FileOutputStream(options.get("hdr-out")))) {
+                    total.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            System.out.printf("cleanup    deleted %d courses created by this run%n", workload.cleanUp());
+        }
+    }
+
+    private void run(Integer rate, int concurrency, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (rate != null) {
+                long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+                long start = System.nanoTime();
+                for (long i = 0; ; i++) {
+                    long scheduled = start + i * interval;
+                    if (scheduled >= deadline) {
+                        break;
+                    }
+                    long wait = scheduled - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    executor.submit(() -> call(workload.next(), scheduled));
+                }
+            } else {
+                for (int i = 0; i < concurrency; i++) {
+                    executor.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            call(workload.next(), System.nanoTime());
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private void call(Operation operation, long startedAt) {
+        String status;
+        try {
+            status = String.valueOf(workload.execute(operation));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception ex) {
+            status = ex.getClass().getSimpleName();
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+        recorders.get(operation).recordValue(Math.min(micros, HIGHEST_MICROS));
+        statuses.computeIfAbsent(operation + " " + status, key -> new LongAdder()).increment();
+    }
+
+    private void reset() {
+        recorders.values().forEach(Recorder::reset);
+        statuses.clear();
+    }
+
+    private Histogram report(Duration elapsed, Integer rate) {
+        double seconds = elapsed.toNanos() / 1e9;
+        Histogram total = new Histogram(HIGHEST_MICROS, 3);
+        System.out.printf("%-8s %9s %10s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        for (Map.Entry<Operation, Recorder> entry : recorders.entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            if (histogram.getTotalCount() > 0) {
+                print(entry.getKey().name().toLowerCase(), histogram, seconds);
+                total.add(histogram);
+            }
+        }
+        print("total", total, seconds);
+        if (rate != null && total.getTotalCount() / seconds < rate * 0.95) {
+            System.out.printf("warning    achieved %.1f req/s of the %d requested%n", total.getTotalCount() / seconds, rate);
+        }
+        new TreeMap<>(statuses).forEach((key, count) -> System.out.printf("status     %s: %d%n", key, count.sum()));
+        return total;
+    }
+
+    private static void print(String name, Histogram histogram, double seconds) {
+        System.out.printf("%-8s %9d %10.1f %9s %9s %9s %9s %9s%n", name, histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.1fms", micros / 1000.0);
+    }
+}
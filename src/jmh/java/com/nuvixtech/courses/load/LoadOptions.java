@@ -0,0 +1,30 @@
+package com.nuvixtech.courses.load;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code --name value} command line options shared by the load tools.
+ */
+final class LoadOptions {
+
+    private LoadOptions() {
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /** Parses {@code 30s}, {@code 5m}, {@code 1h30m}. */
+    static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
@@ -0,0 +1,227 @@
+package com.nuvixtech.courses.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The request mix: which {@code /api/courses} operation each request runs,
+ * picked at random by weight, and how it is built. Reads go against ids
+ * sampled from the catalog at startup; updates, patches and deletes only
+ * touch courses this run created, so the seeded catalog stays as generated.
+ */
+final class Workload {
+
+    enum Operation {
+        LIST, GET, SUGGEST, CREATE, UPDATE, PATCH, DELETE
+    }
+
+    static final String DEFAULT_MIX = "list=50,get=40,create=4,update=4,delete=2";
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"nextCursor\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String[] SEARCH_TERMS = {"java", "python", "docker", "cloud", "datos", "react", "seguridad"};
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Operation[] table;
+    private final int listPages;
+    private final long[] ids;
+    private final ConcurrentLinkedDeque<Long> created = new ConcurrentLinkedDeque<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+
+    private Workload(HttpClient client, String baseUrl, Operation[] table, int listPages, long[] ids) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.table = table;
+        this.listPages = listPages;
+        this.ids = ids;
+    }
+
+    /**
+     * Builds the workload for a mix such as {@code list=50,get=40,create=10};
+     * weights are relative. Samples up to {@code idSample} existing ids for
+     * {@link Operation#GET}.
+     */
+    static Workload create(HttpClient client, String baseUrl, String mix, int listPages, int idSample)
+            throws Exception {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in mix, got: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        List<Operation> table = new ArrayList<>();
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        });
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operations: " + mix);
+        }
+        long[] ids = weights.getOrDefault(Operation.GET, 0) > 0 ? sampleIds(client, baseUrl, idSample) : new long[0];
+        return new Workload(client, baseUrl, table.toArray(Operation[]::new), listPages, ids);
+    }
+
+    // Keyset pages ordered by price, so the sample spreads over the whole table instead of the lowest ids
+    private static long[] sampleIds(HttpClient client, String baseUrl, int limit) throws Exception {
+        List<Long> sample = new ArrayList<>(limit);
+        String cursor = null;
+        do {
+            String url = baseUrl + "/api/courses/scroll?sort=price&fields=id&size=" + Math.min(1000, limit - sample.size())
+                    + (cursor != null ? "&after=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8) : "");
+            String body = client.send(HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            Matcher id = ID.matcher(body);
+            while (id.find()) {
+                sample.add(Long.parseLong(id.group(1)));
+            }
+            Matcher next = NEXT_CURSOR.matcher(body);
+            cursor = next.find() ? next.group(1) : null;
+        } while (cursor != null && sample.size() < limit);
+        if (sample.isEmpty()) {
+            throw new IllegalStateException("No courses to read; seed the catalog first");
+        }
+        return sample.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    int sampledIds() {
+        return ids.length;
+    }
+
+    Operation next() {
+        return table[ThreadLocalRandom.current().nextInt(table.length)];
+    }
+
+    /**
+     * Runs one operation and returns its HTTP status. Updates, patches and
+     * deletes fall back to a create until this run has created something to
+     * modify.
+     */
+    int execute(Operation operation) throws Exception {
+        return switch (operation) {
+            case LIST -> send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses?" + listQuery())).GET());
+            case GET -> send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses/" + randomId())).GET());
+            case SUGGEST -> send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses/suggest?q=" + keystrokes()))
+                    .GET());
+            case CREATE -> create();
+            case UPDATE -> update();
+            case PATCH -> patch();
+            case DELETE -> delete();
+        };
+    }
+
+    /** Deletes whatever this run created and did not delete yet. */
+    int cleanUp() throws Exception {
+        int removed = 0;
+        for (Long id = created.poll(); id != null; id = created.poll()) {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses/" + id)).DELETE());
+            removed++;
+        }
+        return removed;
+    }
+
+    private String listQuery() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder query = new StringBuilder("size=20&page=").append(random.nextInt(listPages));
+        int filter = random.nextInt(10);
+        if (filter < 2) {
+            query.append("&name=").append(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]);
+        } else if (filter < 4) {
+            query.append("&type=").append(random.nextBoolean() ? "ONLINE" : "PRESENCIAL");
+        }
+        return query.toString();
+    }
+
+    // What a search box sends after a few keystrokes: a prefix of one of the search terms
+    private String keystrokes() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+        return term.substring(0, 1 + random.nextInt(term.length()));
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private int create() throws Exception {
+        HttpResponse<String> response = client.send(
+                json(HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses"))).POST(body()).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher id = ID.matcher(response.body());
+        if (response.statusCode() == 201 && id.find()) {
+            created.add(Long.parseLong(id.group(1)));
+        }
+        return response.statusCode();
+    }
+
+    private int update() throws Exception {
+        Long id = created.poll();
+        if (id == null) {
+            return create();
+        }
+        try {
+            return send(json(HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses/" + id))).PUT(body()));
+        } finally {
+            created.add(id);
+        }
+    }
+
+    private int patch() throws Exception {
+        Long id = created.poll();
+        if (id == null) {
+            return create();
+        }
+        try {
+            String price = "{\"price\":%d.99}".formatted(9 + ThreadLocalRandom.current().nextInt(990));
+            return send(json(HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses/" + id)))
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(price)));
+        } finally {
+            created.add(id);
+        }
+    }
+
+    private int delete() throws Exception {
+        Long id = created.pollLast();
+        if (id == null) {
+            return create();
+        }
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses/" + id)).DELETE());
+    }
+
+    private HttpRequest.BodyPublisher body() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String code = "LT-" + runId + "-" + Long.toString(sequence.incrementAndGet(), 36);
+        return HttpRequest.BodyPublishers.ofString("""
+                {"code":"%s","name":"Curso de carga %s","description":"Creado por la prueba de carga",\
+                "duration":%d,"type":"%s","price":%d.99}""".formatted(code, code,
+                4 + random.nextInt(120), random.nextBoolean() ? "ONLINE" : "PRESENCIAL", 9 + random.nextInt(990)));
+    }
+
+    private HttpRequest.Builder json(HttpRequest.Builder request) {
+        return request.header("Content-Type", "application/json");
+    }
+
+    private int send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,91 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.model.Course;
+import com.nuvixtech.courses.model.CourseType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory half of a listing request, no database: entity to DTO mapping,
+ * page envelope and JSON serialization of the response body. Run with
+ * {@code -prof gc} to track allocations per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseHotPathBenchmark {
+
+    private static final long TOTAL_ELEMENTS = 50_000;
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<Course> entities;
+    private Page<CourseResponse> page;
+    private PagedResponse<CourseResponse> body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entities = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            entities.add(Course.builder()
+                    .id((long) i)
+                    .code("BENCH-" + i)
+                    .name("Benchmark course " + i)
+                    .description("Generated row for hot path benchmarks, with a description of typical length")
+                    .duration(10 + i % 90)
+                    .type(i % 2 == 0 ? CourseType.ONLINE : CourseType.PRESENCIAL)
+                    .price(new BigDecimal(100 + i % 500).add(new BigDecimal("0.99")))
+                    .build());
+        }
+        Pageable pageable = PageRequest.of(3, pageSize, Sort.by("id"));
+        page = new PageImpl<>(toResponses(), pageable, TOTAL_ELEMENTS);
+        body = PagedResponse.from(page);
+    }
+
+    @Benchmark
+    public List<CourseResponse> toResponses() {
+        List<CourseResponse> responses = new ArrayList<>(entities.size());
+        for (Course course : entities) {
+            responses.add(CourseService.toResponse(course));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public PagedResponse<CourseResponse> pagedResponseFrom() {
+        return PagedResponse.from(page);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return jsonMapper.writeValueAsBytes(body);
+    }
+}
@@ -0,0 +1,117 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.CoursesApiApplication;
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.repository.CourseRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity hydration + mapping versus constructor projection for one listing
+ * page. Run with {@code -prof gc} to compare allocations per operation.
+ * <p>
+ * Setup inserts and teardown deletes {@code BENCH-} rows, so the benchmark
+ * only runs against a dedicated database given in {@code BENCH_DATABASE_URL}
+ * (credentials from {@code DATABASE_USER} / {@code DATABASE_PASS}), never the
+ * application's {@code DATABASE_URL}. Hibernate's second-level and query
+ * caches are off so both paths actually run their query.
+ *
+ * <pre>
+ * BENCH_DATABASE_URL=jdbc:postgresql://localhost:5432/courses_bench \
+ *   ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="CourseReadPathBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseReadPathBenchmark {
+
+    private static final int SEED_ROWS = 1000;
+    private static final String DATABASE_URL = "BENCH_DATABASE_URL";
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private CourseRepository courseRepository;
+    private TransactionTemplate readOnly;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CoursesApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + benchmarkDatabaseUrl(),
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        courseRepository = context.getBean(CourseRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        pageable = PageRequest.of(0, pageSize, Sort.by("id"));
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("DELETE FROM courses WHERE code LIKE 'BENCH-%'");
+        jdbc.update("""
+                INSERT INTO courses (code, name, description, duration, type, price)
+                SELECT 'BENCH-' || lpad(g::text, 5, '0'), 'Benchmark course ' || g,
+                       'Generated row for read path benchmarks', 10 + g % 90,
+                       CASE WHEN g % 2 = 0 THEN 'ONLINE' ELSE 'PRESENCIAL' END, 100 + g % 500
+                FROM generate_series(1, ?) g
+                """, SEED_ROWS);
+    }
+
+    private static String benchmarkDatabaseUrl() {
+        String url = System.getenv(DATABASE_URL);
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException(DATABASE_URL + " must point to a dedicated benchmark database");
+        }
+        if (url.equals(System.getenv("DATABASE_URL"))) {
+            throw new IllegalStateException(DATABASE_URL + " must not be the application database (DATABASE_URL)");
+        }
+        return url;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM courses WHERE code LIKE 'BENCH-%'");
+        context.close();
+    }
+
+    @Benchmark
+    public Page<CourseResponse> entityPage() {
+        return readOnly.execute(status -> courseRepository.findAll(pageable).map(CourseService::toResponse));
+    }
+
+    @Benchmark
+    public Page<CourseResponse> projectionPage() {
+        return readOnly.execute(status -> courseRepository.findResponsePage(pageable));
+    }
+}
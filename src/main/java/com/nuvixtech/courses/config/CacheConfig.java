@@ -0,0 +1,89 @@
+package com.nuvixtech.courses.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache regions, held in an in-process
+ * Ehcache (JCache) manager owned by this context. Each region is bounded by
+ * entry count and time-to-live; hits, misses, puts and evictions are
+ * published as {@code cache.*} metrics tagged with the region name.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String COURSE_REGION = "courses";
+    public static final String QUERY_REGION = "default-query-results-region";
+    public static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${app.courses.cache.entities.max-entries:10000}")
+    private long entityMaxEntries = 10_000;
+
+    @Value("${app.courses.cache.entities.ttl:1h}")
+    private Duration entityTtl = Duration.ofHours(1);
+
+    @Value("${app.courses.cache.queries.max-entries:2000}")
+    private long queryMaxEntries = 2_000;
+
+    @Value("${app.courses.cache.queries.ttl:30m}")
+    private Duration queryTtl = Duration.ofMinutes(30);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A manager of its own per application context; the URI also names its statistics MBeans
+        URI uri = URI.create("urn:courses-api:hibernate-cache:" + UUID.randomUUID());
+        CacheManager cacheManager = new EhcacheCachingProvider()
+                .getCacheManager(uri, ConfigurationBuilder.newConfigurationBuilder().build());
+
+        createRegion(cacheManager, COURSE_REGION, entityMaxEntries, entityTtl);
+        createRegion(cacheManager, QUERY_REGION, queryMaxEntries, queryTtl);
+        // Update timestamps decide whether cached query results are stale: one entry
+        // per table, and they must never expire before the results they guard
+        createRegion(cacheManager, TIMESTAMPS_REGION, 1_000, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> bindRegions(hibernateCacheManager, registry);
+    }
+
+    private void bindRegions(CacheManager cacheManager, MeterRegistry registry) {
+        for (String name : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(registry, cacheManager.getCache(name), Tags.of("region", name));
+        }
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, long maxEntries, Duration ttl) {
+        CacheConfigurationBuilder<Object, Object> region = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ttl != null
+                        ? ExpiryPolicyBuilder.timeToLiveExpiration(ttl)
+                        : ExpiryPolicyBuilder.noExpiration());
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(region));
+        cacheManager.enableStatistics(name, true);
+    }
+}
@@ -0,0 +1,18 @@
+package com.nuvixtech.courses.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose concurrent calls with equal arguments may share one
+ * execution and its result; see {@link RequestCoalescer}. Arguments must
+ * implement {@code equals}, and the result must not be modified by callers.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+}
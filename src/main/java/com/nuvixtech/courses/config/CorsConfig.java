@@ -0,0 +1,28 @@
+package com.nuvixtech.courses.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * CORS for the REST API from {@code app.cors.*}: the origins allowed to
+ * call {@code /api/**} from a browser and the methods a preflight may ask
+ * for. No credentials are allowed, so {@code *} is a valid origin.
+ */
+@Configuration
+public class CorsConfig implements WebMvcConfigurer {
+
+    @Value("${app.cors.allowed-origins:*}")
+    private String[] allowedOrigins = {"*"};
+
+    @Value("${app.cors.allowed-methods:GET,POST,PUT,PATCH,DELETE,OPTIONS}")
+    private String[] allowedMethods = {"GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"};
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/api/**")
+                .allowedOrigins(allowedOrigins)
+                .allowedMethods(allowedMethods);
+    }
+}
@@ -0,0 +1,132 @@
+package com.nuvixtech.courses.config;
+
+import com.nuvixtech.courses.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the connection pool. Every call into a
+ * {@code @Service} needs a permit, taken before its transaction opens; there
+ * are as many permits as pooled connections, so waiting happens here with a
+ * short deadline instead of in Hikari's queue. A caller that gets no permit
+ * in time is shed with {@link ServiceOverloadedException} (503 + Retry-After).
+ * Nested service calls on the same thread reuse the outer permit. Runs inside
+ * {@link RequestCoalescer}, so callers sharing a running read take no permit.
+ * <p>
+ * With a {@link ReplicaRoutingDataSource} there is a second set of permits,
+ * sized the same way, for the replica pool: a read-only call takes one of
+ * those while reads are routed to the replica, and a primary permit otherwise
+ * (writes, or reads that fell back to the primary). {@code max-concurrent}
+ * applies to each pool.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class DatabaseBulkhead {
+
+    private final ThreadLocal<Boolean> holding = new ThreadLocal<>();
+    private final Semaphore permits;
+    private final Semaphore replicaPermits;
+    private final ReplicaRoutingDataSource routing;
+    private final TransactionAttributeSource transactions = new AnnotationTransactionAttributeSource();
+    private final Duration acquireTimeout;
+    private final Duration retryAfter;
+    private final Counter rejected;
+
+    public DatabaseBulkhead(PoolProperties poolProperties,
+                            ObjectProvider<DataSource> dataSource,
+                            @Value("${app.courses.bulkhead.max-concurrent:0}") int maxConcurrent,
+                            @Value("${app.courses.bulkhead.acquire-timeout:500ms}") Duration acquireTimeout,
+                            @Value("${app.courses.bulkhead.retry-after:1s}") Duration retryAfter,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        int size = maxConcurrent > 0 ? maxConcurrent : poolProperties.getMaximumPoolSize();
+        this.permits = new Semaphore(size, true);
+        this.routing = dataSource.getIfAvailable() instanceof ReplicaRoutingDataSource replica ? replica : null;
+        this.replicaPermits = routing != null ? new Semaphore(size, true) : null;
+        this.acquireTimeout = acquireTimeout;
+        this.retryAfter = retryAfter;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            register(registry, "primary", permits);
+            if (replicaPermits != null) {
+                register(registry, "replica", replicaPermits);
+            }
+            this.rejected = Counter.builder("courses.bulkhead.rejected")
+                    .description("Calls shed because no permit was free within the deadline")
+                    .register(registry);
+        } else {
+            this.rejected = null;
+        }
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object guard(ProceedingJoinPoint call) throws Throwable {
+        if (holding.get() != null) {
+            return call.proceed();
+        }
+        Semaphore pool = permitsFor(call);
+        if (!pool.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new ServiceOverloadedException(acquireTimeout, retryAfter);
+        }
+        holding.set(Boolean.TRUE);
+        try {
+            return call.proceed();
+        } finally {
+            holding.remove();
+            pool.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /** Free replica permits, or -1 without a replica. */
+    public int availableReplicaPermits() {
+        return replicaPermits != null ? replicaPermits.availablePermits() : -1;
+    }
+
+    // Decided when the call starts: a read whose routing flips to the primary mid-call keeps its replica
+    // permit, and the primary pool's own queue absorbs that overlap
+    private Semaphore permitsFor(ProceedingJoinPoint call) {
+        if (replicaPermits == null || !routing.isRoutingToReplica()) {
+            return permits;
+        }
+        TransactionAttribute transaction = transactions.getTransactionAttribute(
+                ((MethodSignature) call.getSignature()).getMethod(), call.getTarget().getClass());
+        return transaction != null && transaction.isReadOnly() ? replicaPermits : permits;
+    }
+
+    private static void register(MeterRegistry registry, String pool, Semaphore permits) {
+        Gauge.builder("courses.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Free database permits")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("courses.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a database permit")
+                .tag("pool", pool)
+                .register(registry);
+    }
+}
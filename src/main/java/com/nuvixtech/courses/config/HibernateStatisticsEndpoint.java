@@ -0,0 +1,120 @@
+package com.nuvixtech.courses.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/hibernate}: Hibernate {@link Statistics} since startup or
+ * the last reset — session, flush and entity counters, second-level cache
+ * hits per region, and execution counts and times per query string, slowest
+ * total first. {@code DELETE /actuator/hibernate} starts a new window.
+ * Requires {@code hibernate.generate_statistics}.
+ */
+@Component
+@Endpoint(id = "hibernate")
+@RequiredArgsConstructor
+public class HibernateStatisticsEndpoint {
+
+    private static final int DEFAULT_QUERY_LIMIT = 50;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public record Summary(boolean enabled, Instant since, Sessions sessions, Entities entities,
+                          Queries queries, SecondLevelCache secondLevelCache, List<QueryEntry> queryStatistics) {
+    }
+
+    public record Sessions(long opened, long closed, long transactions, long flushes, long connections,
+                           long preparedStatements) {
+    }
+
+    public record Entities(long loads, long fetches, long inserts, long updates, long deletes) {
+    }
+
+    public record Queries(long executions, long maxTimeMs, String slowest, long planCacheHits,
+                          long planCacheMisses, long cacheHits, long cacheMisses, long cachePuts) {
+    }
+
+    public record SecondLevelCache(long hits, long misses, long puts, Map<String, Region> regions) {
+    }
+
+    public record Region(long hits, long misses, long puts, long elementsInMemory) {
+    }
+
+    public record QueryEntry(String query, long executions, long rows, long totalTimeMs, double avgTimeMs,
+                             long minTimeMs, long maxTimeMs, long cacheHits, long cacheMisses, long cachePuts) {
+    }
+
+    /**
+     * @param limit how many queries to list, by total execution time (default 50)
+     */
+    @ReadOperation
+    public Summary statistics(@Nullable Integer limit) {
+        Statistics stats = statistics();
+        return new Summary(
+                stats.isStatisticsEnabled(),
+                stats.getStart(),
+                new Sessions(stats.getSessionOpenCount(), stats.getSessionCloseCount(), stats.getTransactionCount(),
+                        stats.getFlushCount(), stats.getConnectCount(), stats.getPrepareStatementCount()),
+                new Entities(stats.getEntityLoadCount(), stats.getEntityFetchCount(), stats.getEntityInsertCount(),
+                        stats.getEntityUpdateCount(), stats.getEntityDeleteCount()),
+                new Queries(stats.getQueryExecutionCount(), stats.getQueryExecutionMaxTime(),
+                        stats.getQueryExecutionMaxTimeQueryString(), stats.getQueryPlanCacheHitCount(),
+                        stats.getQueryPlanCacheMissCount(), stats.getQueryCacheHitCount(),
+                        stats.getQueryCacheMissCount(), stats.getQueryCachePutCount()),
+                new SecondLevelCache(stats.getSecondLevelCacheHitCount(), stats.getSecondLevelCacheMissCount(),
+                        stats.getSecondLevelCachePutCount(), regions(stats)),
+                queries(stats, limit != null ? limit : DEFAULT_QUERY_LIMIT));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private Map<String, Region> regions(Statistics stats) {
+        Map<String, Region> regions = new LinkedHashMap<>();
+        for (String name : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = stats.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.put(name, new Region(region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                        region.getElementCountInMemory()));
+            }
+        }
+        return regions;
+    }
+
+    private List<QueryEntry> queries(Statistics stats, int limit) {
+        return Arrays.stream(stats.getQueries())
+                .map(query -> entry(query, stats.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(QueryEntry::totalTimeMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private QueryEntry entry(String query, QueryStatistics stats) {
+        return new QueryEntry(query, stats.getExecutionCount(), stats.getExecutionRowCount(),
+                stats.getExecutionTotalTime(), stats.getExecutionAvgTimeAsDouble(), stats.getExecutionMinTime(),
+                stats.getExecutionMaxTime(), stats.getCacheHitCount(), stats.getCacheMissCount(),
+                stats.getCachePutCount());
+    }
+}
@@ -0,0 +1,57 @@
+package com.nuvixtech.courses.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HikariCP and pgjdbc settings shared by the primary and replica pools
+ * ({@code app.datasource.pool.*}). Defaults are Hikari's and pgjdbc's own,
+ * except where noted.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("app.datasource.pool")
+public class PoolProperties {
+
+    private int maximumPoolSize = 10;
+
+    /** Defaults to {@code maximumPoolSize}: a fixed-size pool. */
+    private Integer minimumIdle;
+
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+    private Duration validationTimeout = Duration.ofSeconds(5);
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private Duration maxLifetime = Duration.ofMinutes(30);
+
+    /** Zero disables keepalive pings on idle connections. */
+    private Duration keepaliveTime = Duration.ZERO;
+
+    /** Zero disables leak detection. */
+    private Duration leakDetectionThreshold = Duration.ZERO;
+
+    /** Open {@code minimumIdle} connections before the application starts serving. */
+    private boolean prefill = false;
+
+    /**
+     * Executions before pgjdbc switches a statement to a named server-side
+     * prepared statement; 0 disables them (needed behind a transaction-mode
+     * PgBouncer such as Neon's pooled endpoint).
+     */
+    private int prepareThreshold = 5;
+
+    /** Per-connection cache of prepared statements, by count and by size. */
+    private int preparedStatementCacheQueries = 256;
+    private int preparedStatementCacheSizeMib = 5;
+
+    /** Any further pgjdbc connection properties. */
+    private Map<String, String> dataSourceProperties = new LinkedHashMap<>();
+
+    public int getMinimumIdle() {
+        return minimumIdle != null ? minimumIdle : maximumPoolSize;
+    }
+}
@@ -0,0 +1,142 @@
+package com.nuvixtech.courses.config;
+
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends read-only transactions to a replica pool and everything else to the
+ * primary. Connections are fetched lazily, once the transaction has marked
+ * them read-only. A background check measures replication lag; while the
+ * replica is unreachable or further behind than {@code maxLag}, read-only
+ * work falls back to the primary as well.
+ * <p>
+ * For {@code readYourWrites} after each course change, local or relayed from
+ * another node, read-only work also goes to the primary, so a lagging replica
+ * cannot hand the caches refilling after the change the rows from before it.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    // Zero when the replica has replayed everything it received, so an idle primary does not look like lag
+    static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final JdbcTemplate replicaJdbc;
+    private final Duration maxLag;
+    private final Duration readYourWrites;
+    private final ScheduledExecutorService healthCheck;
+
+    private volatile boolean replicaAvailable = true;
+    private volatile double lagSeconds;
+    private volatile long primaryUntil = System.nanoTime();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    Duration maxLag, Duration checkInterval, Duration readYourWrites) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaJdbc = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.readYourWrites = readYourWrites;
+
+        AbstractRoutingDataSource readOnly = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return isRoutingToReplica() ? Target.REPLICA : Target.PRIMARY;
+            }
+        };
+        readOnly.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        readOnly.afterPropertiesSet();
+        setReadOnlyDataSource(readOnly);
+
+        checkReplica();
+        healthCheck = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("replica-health-check").factory());
+        healthCheck.scheduleWithFixedDelay(this::checkReplica,
+                checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    boolean isRoutingToReplica() {
+        return replicaAvailable && System.nanoTime() - primaryUntil >= 0;
+    }
+
+    // Before the commit, and ahead of every cache listener for relayed changes: nothing can be
+    // re-read from the replica between the change becoming visible and reads moving to the primary
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        primaryUntil = System.nanoTime() + readYourWrites.toNanos();
+    }
+
+    /**
+     * Replication lag in seconds as of the last check, or -1 while the replica is unreachable.
+     */
+    public double getReplicaLagSeconds() {
+        return lagSeconds;
+    }
+
+    void checkReplica() {
+        boolean available;
+        try {
+            Double lag = replicationLag();
+            lagSeconds = lag != null ? lag : 0;
+            available = lagSeconds <= maxLag.toMillis() / 1000.0;
+        } catch (RuntimeException ex) {
+            lagSeconds = -1;
+            available = false;
+        }
+        if (available != replicaAvailable) {
+            log.warn(available
+                    ? "Read replica is back (lag {}s); routing read-only transactions to it"
+                    : "Read replica unavailable or lagging (lag {}s); routing read-only transactions to the primary",
+                    lagSeconds);
+        }
+        replicaAvailable = available;
+    }
+
+    Double replicationLag() {
+        return replicaJdbc.queryForObject(LAG_SQL, Double.class);
+    }
+
+    @Override
+    public void close() throws Exception {
+        healthCheck.shutdownNow();
+        try {
+            closeIfPossible(replica);
+        } finally {
+            closeIfPossible(primary);
+        }
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
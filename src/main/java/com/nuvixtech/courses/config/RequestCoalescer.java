@@ -0,0 +1,132 @@
+package com.nuvixtech.courses.config;
+
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.exception.ServiceOverloadedException;
+import com.nuvixtech.courses.service.CourseJsonCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight for {@link Coalesced} reads: while a call is running,
+ * identical calls (same method, equal arguments) wait for it and get its
+ * result or exception instead of running the same query again. Followers
+ * wait here, outside {@link DatabaseBulkhead} and before any transaction, so
+ * a burst of identical requests holds one permit and one connection. They
+ * wait no longer than the bulkhead's acquire timeout, as they would for a
+ * permit, and are then shed with {@link ServiceOverloadedException}.
+ * <p>
+ * Nothing is kept once a call returns, so this is not a cache. A committed
+ * course change closes every running call to newcomers, which then start
+ * their own: a read never joins a query that started before a write it
+ * should see. Calls inside an open transaction are never coalesced, since
+ * they may need their own uncommitted writes.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestCoalescer {
+
+    private final Map<Flight, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    @Value("${app.courses.coalescing.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.courses.bulkhead.acquire-timeout:500ms}")
+    private Duration maxWait = Duration.ofMillis(500);
+
+    @Value("${app.courses.bulkhead.retry-after:1s}")
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private record Flight(Method method, List<Object> arguments) {
+    }
+
+    public RequestCoalescer(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("courses.coalescing.inflight", flights, Map::size)
+                    .description("Distinct coalesced calls currently running")
+                    .register(registry);
+        }
+    }
+
+    @Around("@annotation(com.nuvixtech.courses.config.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint call) throws Throwable {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return call.proceed();
+        }
+        Method method = ((MethodSignature) call.getSignature()).getMethod();
+        Flight key = new Flight(method, Arrays.asList(call.getArgs()));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            count(method, "follower");
+            return await(method, running);
+        }
+
+        count(method, "leader");
+        try {
+            Object result = call.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    @Order(CourseJsonCache.ORDER - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        flights.clear();
+    }
+
+    // the leader holds the permit: a follower never waits longer than a caller without one would
+    private Object await(Method method, CompletableFuture<Object> flight) throws Throwable {
+        try {
+            return flight.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            count(method, "shed");
+            throw new ServiceOverloadedException(maxWait, retryAfter);
+        }
+    }
+
+    // leader / follower / shed per method: the coalescing ratio is followers over all calls
+    private void count(Method method, String role) {
+        if (registry != null) {
+            Counter.builder("courses.coalescing.calls")
+                    .description("Coalesced reads that ran the query (leader), shared a running one (follower) or gave up waiting for it (shed)")
+                    .tag("method", method.getName())
+                    .tag("role", role)
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
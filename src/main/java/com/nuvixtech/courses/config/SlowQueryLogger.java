@@ -0,0 +1,101 @@
+package com.nuvixtech.courses.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs JDBC statements that run longer than {@code threshold}, with their
+ * bind parameters and the service method that issued them. Every slow
+ * statement is counted in {@code courses.db.slow.queries}; only
+ * {@code sampleRate} of them are logged, so a database stall does not turn
+ * into a log flood. Statements under the threshold cost one comparison.
+ */
+@Slf4j
+public class SlowQueryLogger implements QueryExecutionListener {
+
+    private static final String SERVICE_PACKAGE = "com.nuvixtech.courses.service.";
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final Counter slowQueries;
+
+    public SlowQueryLogger(Duration threshold, double sampleRate, String pool, MeterRegistry registry) {
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+        this.slowQueries = registry == null ? null : Counter.builder("courses.db.slow.queries")
+                .description("JDBC statements slower than app.datasource.slow-query.threshold")
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        if (execution.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        if (slowQueries != null) {
+            slowQueries.increment();
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        for (QueryInfo query : queries) {
+            log.warn("Slow query: {} ms on {} from {}{}: {} {}",
+                    execution.getElapsedTime(), execution.getDataSourceName(), caller(),
+                    execution.isBatch() ? " (batch of " + execution.getBatchSize() + ")" : "",
+                    query.getQuery(), parameters(query));
+        }
+    }
+
+    // Outermost service frame, i.e. the entry point, skipping Spring's generated proxies and lambda bodies
+    static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE)
+                        && !frame.getClassName().contains("$$")
+                        && !frame.getMethodName().startsWith("lambda$"))
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                .reduce((inner, outer) -> outer)
+                .orElse("unknown"));
+    }
+
+    static String parameters(QueryInfo query) {
+        List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+        if (parameterSets.isEmpty()) {
+            return "[]";
+        }
+        StringJoiner values = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operation : parameterSets.get(0)) {
+            Object[] args = operation.getArgs();
+            Object value = ParameterSetOperation.isSetNullParameterOperation(operation) ? null : args[1];
+            values.add(args[0] + "=" + truncate(value));
+        }
+        String first = values.toString();
+        return parameterSets.size() > 1 ? first + " +" + (parameterSets.size() - 1) + " more" : first;
+    }
+
+    private static String truncate(Object value) {
+        String text = String.valueOf(value);
+        return text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "…" : text;
+    }
+
+    private static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int nested = name.indexOf('$');
+        return nested > 0 ? name.substring(0, nested) : name;
+    }
+}
@@ -1,17 +1,43 @@
 package com.nuvixtech.courses.controller;
 
+import com.nuvixtech.courses.dto.BatchResponse;
+import com.nuvixtech.courses.dto.CourseField;
+import com.nuvixtech.courses.dto.CourseLookupRequest;
+import com.nuvixtech.courses.dto.CourseLookupResponse;
+import com.nuvixtech.courses.dto.CourseBatchUpdateRequest;
+import com.nuvixtech.courses.dto.CoursePatchRequest;
 import com.nuvixtech.courses.dto.CourseRequest;
 import com.nuvixtech.courses.dto.CourseResponse;
-import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.dto.CourseSuggestion;
+import com.nuvixtech.courses.dto.CursorResponse;
+import com.nuvixtech.courses.dto.ImportResponse;
+import com.nuvixtech.courses.dto.CatalogFormat;
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.dto.UpsertResponse;
+import com.nuvixtech.courses.dto.UpsertedCourse;
+import com.nuvixtech.courses.exception.InvalidSortException;
 import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseQueryRepository;
+import com.nuvixtech.courses.service.CourseBatchService;
+import com.nuvixtech.courses.service.CourseCatalog;
+import com.nuvixtech.courses.service.CourseExportService;
+import com.nuvixtech.courses.service.CourseImportService;
+import com.nuvixtech.courses.service.CourseJsonCache;
 import com.nuvixtech.courses.service.CourseService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -19,22 +45,83 @@ import org.springframework.web.bind.annotation.*;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CourseCatalog courseCatalog;
+    private final CourseJsonCache courseJsonCache;
+    private final CourseBatchService courseBatchService;
+    private final CourseExportService courseExportService;
+    private final CourseImportService courseImportService;
 
     @GetMapping
-    public ResponseEntity<PagedResponse<CourseResponse>> findAll(
+    public ResponseEntity<?> findAll(
             @RequestParam(required = false) CourseType type,
             @RequestParam(required = false) String name,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id") String sort) {
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "EXACT") TotalType total,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        PageRequest pageable = PageRequest.of(page, size, Sort.by(listingSort(sort, name)).ascending());
+        Set<CourseField> selected = CourseField.parse(fields);
+        if (selected == null) {
+            return json(courseJsonCache.page(type, name, pageable, total, () ->
+                    courseCatalog.findAll(type, name, pageable, total, null)
+                            .orElseGet(() -> courseService.findAll(type, name, pageable, total))), ifNoneMatch);
+        }
+        return ResponseEntity.ok(courseCatalog.findAll(type, name, pageable, total, selected)
+                .orElseGet(() -> courseService.findAll(type, name, pageable, total, selected)));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<CourseSuggestion>> suggest(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(courseCatalog.suggest(q, limit)
+                .orElseGet(() -> courseService.suggest(q, limit)));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<CourseLookupResponse> findAllById(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(courseService.lookup(ids, List.of()));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<CourseLookupResponse> lookup(@RequestBody CourseLookupRequest request) {
+        return ResponseEntity.ok(courseService.lookup(request.getIds(), request.getCodes()));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorResponse<?>> scroll(
+            @RequestParam(required = false) CourseType type,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String fields) {
+
+        Set<CourseField> selected = CourseField.parse(fields);
+        return ResponseEntity.ok(selected == null
+                ? courseService.scroll(type, name, sort, after, size)
+                : courseService.scroll(type, name, sort, after, size, selected));
+    }
 
-        PageRequest pageable = PageRequest.of(page, size, Sort.by(sort).ascending());
-        return ResponseEntity.ok(courseService.findAll(type, name, pageable));
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") CatalogFormat format) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=courses." + format.getExtension())
+                .body(out -> courseExportService.export(format, out));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CourseResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(courseService.findById(id));
+    public ResponseEntity<?> findById(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                      String ifNoneMatch) {
+        Set<CourseField> selected = CourseField.parse(fields);
+        if (selected == null) {
+            return json(courseJsonCache.course(id, () -> courseService.findById(id)), ifNoneMatch);
+        }
+        return ResponseEntity.ok(courseService.findById(id, selected));
     }
 
     @PostMapping
@@ -42,14 +129,68 @@ public class CourseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(courseService.create(request));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createBatch(@RequestBody List<CourseRequest> requests) {
+        return ResponseEntity.ok(courseBatchService.createAll(requests));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResponse> updateBatch(@RequestBody List<CourseBatchUpdateRequest> requests) {
+        return ResponseEntity.ok(courseBatchService.updateAll(requests));
+    }
+
+    @PutMapping("/by-code")
+    public ResponseEntity<UpsertResponse> upsertBatch(@RequestBody List<CourseRequest> requests) {
+        return ResponseEntity.ok(courseBatchService.upsertAll(requests));
+    }
+
+    @PutMapping("/by-code/{code}")
+    public ResponseEntity<CourseResponse> upsertByCode(@PathVariable String code, @RequestBody CourseRequest request) {
+        UpsertedCourse upserted = courseService.upsert(code, request);
+        return ResponseEntity.status(upserted.inserted() ? HttpStatus.CREATED : HttpStatus.OK).body(upserted.course());
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResponse> importCourses(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        InputStream body) {
+        return ResponseEntity.ok(courseImportService.importCourses(CatalogFormat.fromMediaType(contentType), body));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<CourseResponse> update(@PathVariable Long id, @Valid @RequestBody CourseRequest request) {
         return ResponseEntity.ok(courseService.update(id, request));
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<CourseResponse> patch(@PathVariable Long id, @Valid @RequestBody CoursePatchRequest request) {
+        return ResponseEntity.ok(courseService.patch(id, request));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         courseService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Searches rank by relevance unless told otherwise, plain listings go by id
+    private static String listingSort(String sort, String name) {
+        if (sort == null || sort.isBlank()) {
+            return name != null && !name.isBlank() ? CourseQueryRepository.RELEVANCE : "id";
+        }
+        if (!sort.equals(CourseQueryRepository.RELEVANCE) && !CourseQueryRepository.SORT_PROPERTIES.contains(sort)) {
+            throw new InvalidSortException("Unsupported sort field: " + sort);
+        }
+        return sort;
+    }
+
+    // Cached bytes go out as they are; a matching If-None-Match gets a bodiless 304
+    private static ResponseEntity<byte[]> json(CourseJsonCache.CachedJson json, String ifNoneMatch) {
+        if (json.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(json.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(json.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.body());
+    }
 }
@@ -0,0 +1,13 @@
+package com.nuvixtech.courses.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@Builder
+public class BatchItemError {
+    private int index;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,16 @@
+package com.nuvixtech.courses.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class BatchResponse {
+    private int received;
+    private int succeeded;
+    private int failed;
+    private List<CourseResponse> courses;
+    private List<BatchItemError> errors;
+}
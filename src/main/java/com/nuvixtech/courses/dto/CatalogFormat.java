@@ -0,0 +1,23 @@
+package com.nuvixtech.courses.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Line-oriented formats for full-catalog export and import.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CatalogFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    public static CatalogFormat fromMediaType(String contentType) {
+        MediaType type = MediaType.parseMediaType(contentType);
+        return type.isCompatibleWith(MediaType.parseMediaType(CSV.mediaType)) ? CSV : NDJSON;
+    }
+}
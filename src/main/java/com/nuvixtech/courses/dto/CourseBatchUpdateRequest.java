@@ -0,0 +1,13 @@
+package com.nuvixtech.courses.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CourseBatchUpdateRequest extends CourseRequest {
+
+    @NotNull(message = "El id es obligatorio")
+    private Long id;
+}
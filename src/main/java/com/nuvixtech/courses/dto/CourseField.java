@@ -0,0 +1,52 @@
+package com.nuvixtech.courses.dto;
+
+import com.nuvixtech.courses.exception.InvalidFieldsException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Course attributes that can be requested through {@code ?fields=}.
+ * Property names match the {@code courses} column names.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CourseField {
+    ID("id"),
+    CODE("code"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    DURATION("duration"),
+    TYPE("type"),
+    PRICE("price");
+
+    private final String property;
+
+    public static CourseField fromProperty(String property) {
+        for (CourseField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new InvalidFieldsException("Unknown course field: " + property);
+    }
+
+    /**
+     * Parses a comma-separated field list. Returns null (every field) when the
+     * list is absent or blank; otherwise the id is always part of the result.
+     */
+    public static Set<CourseField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<CourseField> selected = EnumSet.of(ID);
+        for (String property : fields.split(",")) {
+            if (!property.isBlank()) {
+                selected.add(fromProperty(property.trim()));
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,13 @@
+package com.nuvixtech.courses.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class CourseLookupRequest {
+    private List<Long> ids;
+    private List<String> codes;
+}
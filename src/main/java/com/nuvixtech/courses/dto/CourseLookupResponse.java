@@ -0,0 +1,14 @@
+package com.nuvixtech.courses.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class CourseLookupResponse {
+    private List<CourseResponse> courses;
+    private List<Long> missingIds;
+    private List<String> missingCodes;
+}
@@ -0,0 +1,40 @@
+package com.nuvixtech.courses.dto;
+
+import com.nuvixtech.courses.model.CourseType;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Partial update: only the properties present (non-null) are changed, with
+ * the same constraints as {@link CourseRequest}. A null description leaves
+ * it as is; send an empty string to clear it.
+ */
+@Getter
+@Setter
+public class CoursePatchRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "El código no puede estar vacío")
+    @Size(max = 20, message = "El código no puede exceder 20 caracteres")
+    private String code;
+
+    @Pattern(regexp = ".*\\S.*", message = "El nombre no puede estar vacío")
+    @Size(max = 255, message = "El nombre no puede exceder 255 caracteres")
+    private String name;
+
+    private String description;
+
+    @Positive(message = "La duración debe ser un número positivo")
+    private Integer duration;
+
+    private CourseType type;
+
+    @Positive(message = "El precio debe ser un número positivo")
+    @Digits(integer = 8, fraction = 2, message = "El precio admite como máximo 8 enteros y 2 decimales")
+    private BigDecimal price;
+}
@@ -1,6 +1,7 @@
 package com.nuvixtech.courses.dto;
 
 import com.nuvixtech.courses.model.CourseType;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -19,6 +20,7 @@ public class CourseRequest {
     private String code;
 
     @NotBlank(message = "El nombre es obligatorio")
+    @Size(max = 255, message = "El nombre no puede exceder 255 caracteres")
     private String name;
 
     private String description;
@@ -32,5 +34,6 @@ public class CourseRequest {
 
     @NotNull(message = "El precio es obligatorio")
     @Positive(message = "El precio debe ser un número positivo")
+    @Digits(integer = 8, fraction = 2, message = "El precio admite como máximo 8 enteros y 2 decimales")
     private BigDecimal price;
 }
@@ -1,6 +1,8 @@
 package com.nuvixtech.courses.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.nuvixtech.courses.model.CourseType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -8,6 +10,7 @@ import java.math.BigDecimal;
 
 @Getter
 @Builder
+@AllArgsConstructor
 public class CourseResponse {
     private Long id;
     private String code;
@@ -16,4 +19,7 @@ public class CourseResponse {
     private Integer duration;
     private CourseType type;
     private BigDecimal price;
+    // Only for the ETag; not part of the JSON
+    @JsonIgnore
+    private Long version;
 }
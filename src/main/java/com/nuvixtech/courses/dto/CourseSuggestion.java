@@ -0,0 +1,22 @@
+package com.nuvixtech.courses.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class CourseSuggestion {
+    private Long id;
+    private String code;
+    private String name;
+
+    public static CourseSuggestion of(CourseResponse course) {
+        return CourseSuggestion.builder()
+                .id(course.getId())
+                .code(course.getCode())
+                .name(course.getName())
+                .build();
+    }
+}
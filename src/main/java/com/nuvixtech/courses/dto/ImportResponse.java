@@ -0,0 +1,18 @@
+package com.nuvixtech.courses.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class ImportResponse {
+    private long received;
+    private long accepted;
+    private long rejected;
+    private long inserted;
+    private long updated;
+    private List<BatchItemError> errors;
+    private boolean errorsTruncated;
+}
@@ -3,6 +3,7 @@ package com.nuvixtech.courses.dto;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -16,6 +17,8 @@ public class PagedResponse<T> {
     private long totalElements;
     private int totalPages;
     private boolean last;
+    @Builder.Default
+    private TotalType totalType = TotalType.EXACT;
 
     public static <T> PagedResponse<T> from(Page<T> page) {
         return PagedResponse.<T>builder()
@@ -25,6 +28,32 @@ public class PagedResponse<T> {
                 .totalElements(page.getTotalElements())
                 .totalPages(page.getTotalPages())
                 .last(page.isLast())
+                .totalType(TotalType.EXACT)
+                .build();
+    }
+
+    public static <T> PagedResponse<T> from(Slice<T> slice) {
+        return PagedResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .totalElements(-1)
+                .totalPages(-1)
+                .last(!slice.hasNext())
+                .totalType(TotalType.NONE)
+                .build();
+    }
+
+    public static <T> PagedResponse<T> from(Slice<T> slice, long totalElements, TotalType totalType) {
+        int size = slice.getSize();
+        return PagedResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages(size > 0 ? (int) Math.ceil((double) totalElements / size) : 1)
+                .last(!slice.hasNext())
+                .totalType(totalType)
                 .build();
     }
 }
@@ -0,0 +1,9 @@
+package com.nuvixtech.courses.dto;
+
+/**
+ * A course with the {@code search_text} PostgreSQL generated for it
+ * ({@code f_unaccent(lower(name || ' ' || description))}), so text searched
+ * in memory is folded exactly as the database folds it.
+ */
+public record SearchableCourse(CourseResponse course, String searchText) {
+}
@@ -0,0 +1,9 @@
+package com.nuvixtech.courses.dto;
+
+/**
+ * How {@link PagedResponse#getTotalElements()} was obtained. {@code NONE}
+ * means no count was run; totals are reported as {@code -1}.
+ */
+public enum TotalType {
+    EXACT, CACHED, ESTIMATED, NONE
+}
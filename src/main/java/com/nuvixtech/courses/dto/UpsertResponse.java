@@ -0,0 +1,17 @@
+package com.nuvixtech.courses.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class UpsertResponse {
+    private int received;
+    private int inserted;
+    private int updated;
+    private int failed;
+    private List<CourseResponse> courses;
+    private List<BatchItemError> errors;
+}
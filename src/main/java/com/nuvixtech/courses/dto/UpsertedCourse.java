@@ -0,0 +1,8 @@
+package com.nuvixtech.courses.dto;
+
+/**
+ * A course written by an upsert, and whether the write inserted it
+ * ({@code false}: an existing course with the same code was updated).
+ */
+public record UpsertedCourse(CourseResponse course, boolean inserted) {
+}
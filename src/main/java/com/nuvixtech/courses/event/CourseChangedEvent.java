@@ -0,0 +1,29 @@
+package com.nuvixtech.courses.event;
+
+/**
+ * Published by the service layer after a course write so derived state
+ * (counts, caches, indexes) can be dropped. {@code id} is null for bulk
+ * changes that touch an unknown set of rows.
+ */
+public record CourseChangedEvent(Change change, Long id) {
+
+    public enum Change {
+        CREATED, UPDATED, DELETED, BULK
+    }
+
+    public static CourseChangedEvent created(Long id) {
+        return new CourseChangedEvent(Change.CREATED, id);
+    }
+
+    public static CourseChangedEvent updated(Long id) {
+        return new CourseChangedEvent(Change.UPDATED, id);
+    }
+
+    public static CourseChangedEvent deleted(Long id) {
+        return new CourseChangedEvent(Change.DELETED, id);
+    }
+
+    public static CourseChangedEvent bulk() {
+        return new CourseChangedEvent(Change.BULK, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.nuvixtech.courses.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+
+    public BatchTooLargeException(int size, int maxItems) {
+        super("Batch of " + size + " items exceeds the limit of " + maxItems);
+    }
+}
@@ -1,8 +1,12 @@
 package com.nuvixtech.courses.exception;
 
+/**
+ * A 404, not a failure: thrown for every lookup of a missing id, so it skips
+ * the stack trace and suppression list, which cost more than the lookup.
+ */
 public class CourseNotFoundException extends RuntimeException {
 
     public CourseNotFoundException(Long id) {
-        super("Course not found with id: " + id);
+        super("Course not found with id: " + id, null, false, false);
     }
 }
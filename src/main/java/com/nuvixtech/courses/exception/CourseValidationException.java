@@ -0,0 +1,20 @@
+package com.nuvixtech.courses.exception;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Field errors from validating a request in the service layer, where
+ * {@code @Valid} does not apply. Rendered like a rejected request body.
+ */
+@Getter
+public class CourseValidationException extends RuntimeException {
+
+    private final Map<String, String> errors;
+
+    public CourseValidationException(Map<String, String> errors) {
+        super("Invalid course: " + errors);
+        this.errors = errors;
+    }
+}
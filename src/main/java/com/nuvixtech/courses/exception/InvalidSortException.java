@@ -0,0 +1,8 @@
+package com.nuvixtech.courses.exception;
+
+public class InvalidSortException extends RuntimeException {
+
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.nuvixtech.courses.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(Duration waited, Duration retryAfter) {
+        super("Service overloaded: no database capacity within " + waited.toMillis() + " ms, retry later");
+        this.retryAfter = retryAfter;
+    }
+}
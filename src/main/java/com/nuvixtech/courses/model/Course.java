@@ -1,12 +1,22 @@
 package com.nuvixtech.courses.model;
 
+import com.nuvixtech.courses.config.CacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+        @Index(name = "idx_courses_name_id", columnList = "name, id"),
+        @Index(name = "idx_courses_price_id", columnList = "price, id"),
+        @Index(name = "idx_courses_duration_id", columnList = "duration, id"),
+        @Index(name = "idx_courses_type_id", columnList = "type, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.COURSE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +25,8 @@ import java.math.BigDecimal;
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_id_seq")
+    @SequenceGenerator(name = "courses_id_seq", sequenceName = "courses_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 20)
@@ -36,4 +47,8 @@ public class Course {
 
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
+
+    // Bumped by every update, including the native ones in CourseQueryRepositoryImpl; part of the ETag
+    @Version
+    private Long version;
 }
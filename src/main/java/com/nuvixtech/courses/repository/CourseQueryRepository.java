@@ -0,0 +1,96 @@
+package com.nuvixtech.courses.repository;
+
+import com.nuvixtech.courses.dto.CourseField;
+import com.nuvixtech.courses.dto.CourseRequest;
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.SearchableCourse;
+import com.nuvixtech.courses.dto.UpsertedCourse;
+import com.nuvixtech.courses.model.CourseType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface CourseQueryRepository {
+
+    /**
+     * Sort property that orders search results by trigram word similarity
+     * between the search text and the course name and description.
+     */
+    String RELEVANCE = "relevance";
+
+    /**
+     * Course properties listings can be sorted by, besides {@link #RELEVANCE}.
+     */
+    Set<String> SORT_PROPERTIES = Set.of("id", "code", "name", "duration", "price", "type");
+
+    /**
+     * Keyset page: up to {@code limit} courses ordered by {@code (sort, id)}
+     * that come strictly after {@code (afterValue, afterId)}. Pass a null
+     * {@code afterId} for the first page.
+     */
+    List<CourseResponse> findAfter(CourseType type, String text, String sort,
+                           Object afterValue, Long afterId, int limit);
+
+    /**
+     * Case- and accent-insensitive substring search over name and description,
+     * served by the {@code search_text} trigram index.
+     */
+    Page<CourseResponse> search(CourseType type, String text, Pageable pageable);
+
+    Slice<CourseResponse> searchSlice(CourseType type, String text, Pageable pageable);
+
+    long countSearch(CourseType type, String text);
+
+    /*
+     * Sparse fieldsets: same filters, ordering and paging as above, but only
+     * the requested columns are selected. Rows come back as property -> value
+     * maps in {@link CourseField} order; a null text means no search filter.
+     */
+
+    Page<Map<String, Object>> findFields(Set<CourseField> fields, CourseType type, String text, Pageable pageable);
+
+    Slice<Map<String, Object>> findFieldsSlice(Set<CourseField> fields, CourseType type, String text,
+                                               Pageable pageable);
+
+    List<Map<String, Object>> findFieldsAfter(Set<CourseField> fields, CourseType type, String text, String sort,
+                                              Object afterValue, Long afterId, int limit);
+
+    Optional<Map<String, Object>> findFieldsById(Set<CourseField> fields, Long id);
+
+    /**
+     * Courses whose id or code is in the given lists, in one query with an
+     * array parameter each ({@code = ANY(...)}), so the statement and its
+     * plan are the same whatever the number of keys. Rows come back in no
+     * particular order.
+     */
+    List<CourseResponse> findByIdsOrCodes(Collection<Long> ids, Collection<String> codes);
+
+    /**
+     * Courses with their {@code search_text}, for the in-memory catalog:
+     * every course by id when {@code id} is null, else only that one.
+     * Not query-cached.
+     */
+    List<SearchableCourse> findSearchable(Long id);
+
+    /**
+     * Sets the given columns of one course in a single
+     * {@code UPDATE ... RETURNING} and returns the updated row, or empty when
+     * no course has that id. Values are keyed by field; {@link CourseField#ID}
+     * cannot be set.
+     */
+    Optional<CourseResponse> updateFields(Long id, Map<CourseField, Object> values);
+
+    /**
+     * Inserts each course, or updates the one with the same code, in a single
+     * {@code INSERT ... ON CONFLICT (code) DO UPDATE ... RETURNING} however
+     * many there are. Codes must be unique within {@code requests}. Rows come
+     * back in code order.
+     */
+    List<UpsertedCourse> upsertByCode(List<? extends CourseRequest> requests);
+}
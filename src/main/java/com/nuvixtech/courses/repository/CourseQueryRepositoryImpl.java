@@ -0,0 +1,348 @@
+package com.nuvixtech.courses.repository;
+
+import com.nuvixtech.courses.dto.CourseField;
+import com.nuvixtech.courses.dto.CourseRequest;
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.SearchableCourse;
+import com.nuvixtech.courses.dto.UpsertedCourse;
+import com.nuvixtech.courses.model.Course;
+import com.nuvixtech.courses.model.CourseType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+class CourseQueryRepositoryImpl implements CourseQueryRepository {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "code", "code",
+            "name", "name",
+            "duration", "duration",
+            "price", "price",
+            "type", "type"
+    );
+
+    // search_text is a generated column (see db/courses-schema.sql) holding
+    // f_unaccent(lower(name || ' ' || description)) under a gin_trgm_ops index
+    private static final String SEARCH_PREDICATE = " AND c.search_text LIKE f_unaccent(lower(:pattern))";
+
+    private static final String RELEVANCE_ORDER =
+            "word_similarity(f_unaccent(lower(:text)), c.search_text) DESC, c.id";
+
+    private static final String COLUMNS = "c.id, c.code, c.name, c.description, c.duration, c.type, c.price, c.version";
+
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM courses c";
+
+    // One array parameter per column, so a batch is still one statement with six binds; sorting by
+    // code makes concurrent upserts lock rows in the same order. xmax = 0 tells inserted rows from updated ones
+    private static final String UPSERT = """
+            INSERT INTO courses AS c (code, name, description, duration, type, price)
+            SELECT * FROM unnest(CAST(:codes AS varchar[]), CAST(:names AS varchar[]),
+                                 CAST(:descriptions AS text[]), CAST(:durations AS integer[]),
+                                 CAST(:types AS varchar[]), CAST(:prices AS numeric[]))
+                AS r (code, name, description, duration, type, price)
+            ORDER BY code
+            ON CONFLICT (code) DO UPDATE SET
+                name = EXCLUDED.name,
+                description = EXCLUDED.description,
+                duration = EXCLUDED.duration,
+                type = EXCLUDED.type,
+                price = EXCLUDED.price,
+                version = c.version + 1
+            """ + "RETURNING " + COLUMNS + ", (c.xmax = 0)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CourseResponse> findAfter(CourseType type, String text, String sort,
+                                  Object afterValue, Long afterId, int limit) {
+        return after(SELECT, CourseQueryRepositoryImpl::toResponse, type, text, sort, afterValue, afterId, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsAfter(Set<CourseField> fields, CourseType type, String text,
+                                                     String sort, Object afterValue, Long afterId, int limit) {
+        return after(select(fields), row -> toFields(fields, row), type, text, sort, afterValue, afterId, limit);
+    }
+
+    private <T> List<T> after(String select, Function<Object[], T> mapper, CourseType type, String text,
+                              String sort, Object afterValue, Long afterId, int limit) {
+        String column = column(sort);
+
+        StringBuilder sql = new StringBuilder(select).append(where(type, text));
+        if (afterId != null) {
+            sql.append(column.equals("id")
+                    ? " AND c.id > :afterId"
+                    : " AND (c." + column + ", c.id) > (:afterValue, :afterId)");
+        }
+        sql.append(column.equals("id")
+                ? " ORDER BY c.id"
+                : " ORDER BY c." + column + ", c.id");
+        sql.append(" LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        bindFilters(query, type, text);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (!column.equals("id")) {
+                query.setParameter("afterValue", afterValue);
+            }
+        }
+        query.setParameter("limit", limit);
+        return rows(query, mapper);
+    }
+
+    @Override
+    public Page<CourseResponse> search(CourseType type, String text, Pageable pageable) {
+        List<CourseResponse> content = content(SELECT, CourseQueryRepositoryImpl::toResponse,
+                type, text, pageable, pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> countSearch(type, text));
+    }
+
+    @Override
+    public Slice<CourseResponse> searchSlice(CourseType type, String text, Pageable pageable) {
+        return slice(content(SELECT, CourseQueryRepositoryImpl::toResponse,
+                type, text, pageable, pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(Set<CourseField> fields, CourseType type, String text,
+                                                Pageable pageable) {
+        List<Map<String, Object>> content = content(select(fields), row -> toFields(fields, row),
+                type, text, pageable, pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> countSearch(type, text));
+    }
+
+    @Override
+    public Slice<Map<String, Object>> findFieldsSlice(Set<CourseField> fields, CourseType type, String text,
+                                                      Pageable pageable) {
+        return slice(content(select(fields), row -> toFields(fields, row),
+                type, text, pageable, pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Set<CourseField> fields, Long id) {
+        Query query = entityManager.createNativeQuery(select(fields) + " WHERE c.id = :id");
+        query.setParameter("id", id);
+        return rows(query, row -> toFields(fields, row)).stream().findFirst();
+    }
+
+    // Not query-cached: arbitrary key combinations would rarely hit and only crowd out page results
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CourseResponse> findByIdsOrCodes(Collection<Long> ids, Collection<String> codes) {
+        Query query = entityManager.createNativeQuery(SELECT
+                + " WHERE c.id = ANY(CAST(:ids AS bigint[])) OR c.code = ANY(CAST(:codes AS varchar[]))");
+        query.setParameter("ids", ids.toArray(Long[]::new));
+        query.setParameter("codes", codes.toArray(String[]::new));
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(CourseQueryRepositoryImpl::toResponse).toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SearchableCourse> findSearchable(Long id) {
+        Query query = entityManager.createNativeQuery("SELECT " + COLUMNS + ", c.search_text FROM courses c"
+                + (id != null ? " WHERE c.id = :id" : "") + " ORDER BY c.id");
+        if (id != null) {
+            query.setParameter("id", id);
+        }
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(row -> new SearchableCourse(toResponse(row), (String) row[8])).toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<CourseResponse> updateFields(Long id, Map<CourseField, Object> values) {
+        if (values.isEmpty() || values.containsKey(CourseField.ID)) {
+            throw new IllegalArgumentException("Expected one or more non-id fields to update, got: " + values.keySet());
+        }
+        StringBuilder sql = new StringBuilder("UPDATE courses c SET ");
+        for (CourseField field : values.keySet()) {
+            sql.append(field.getProperty()).append(" = :").append(field.getProperty()).append(", ");
+        }
+        sql.append("version = c.version + 1");
+        sql.append(" WHERE c.id = :id RETURNING ").append(COLUMNS);
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        values.forEach((field, value) -> {
+            if (value == null) {
+                query.setParameter(field.getProperty(), null, String.class);
+            } else {
+                query.setParameter(field.getProperty(), value instanceof CourseType type ? type.name() : value);
+            }
+        });
+        query.setParameter("id", id);
+
+        scheduleCacheCleanup();
+        return query.getResultList().stream().findFirst().map(CourseQueryRepositoryImpl::toResponse);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UpsertedCourse> upsertByCode(List<? extends CourseRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(UPSERT).unwrap(NativeQuery.class);
+        query.setParameter("codes", requests.stream().map(CourseRequest::getCode).toArray(String[]::new));
+        query.setParameter("names", requests.stream().map(CourseRequest::getName).toArray(String[]::new));
+        query.setParameter("descriptions", requests.stream().map(CourseRequest::getDescription).toArray(String[]::new));
+        query.setParameter("durations", requests.stream().map(CourseRequest::getDuration).toArray(Integer[]::new));
+        query.setParameter("types", requests.stream().map(r -> r.getType().name()).toArray(String[]::new));
+        query.setParameter("prices", requests.stream().map(CourseRequest::getPrice).toArray(BigDecimal[]::new));
+
+        scheduleCacheCleanup();
+        return query.getResultList().stream()
+                .map(row -> new UpsertedCourse(toResponse(row), (Boolean) row[8]))
+                .toList();
+    }
+
+    // Hibernate only runs this cleanup for DML it executes itself: lock the course region
+    // and invalidate cached queries over courses, exactly as a JPQL update would
+    private void scheduleCacheCleanup() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BulkOperationCleanupAction.schedule(session,
+                session.getFactory().getMappingMetamodel().getEntityDescriptor(Course.class));
+    }
+
+    @Override
+    public long countSearch(CourseType type, String text) {
+        Query query = entityManager.createNativeQuery("SELECT count(*) FROM courses c" + where(type, text));
+        bindFilters(query, type, text);
+        cacheable(query);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    private <T> List<T> content(String select, Function<Object[], T> mapper, CourseType type, String text,
+                                Pageable pageable, int limit) {
+        boolean ranked = text != null && (pageable.getSort().isUnsorted()
+                || pageable.getSort().getOrderFor(RELEVANCE) != null);
+
+        String sql = select + where(type, text)
+                + " ORDER BY " + (ranked ? RELEVANCE_ORDER : orderBy(pageable.getSort()))
+                + " LIMIT :limit OFFSET :offset";
+
+        Query query = entityManager.createNativeQuery(sql);
+        bindFilters(query, type, text);
+        if (ranked) {
+            query.setParameter("text", text);
+        }
+        query.setParameter("limit", limit);
+        query.setParameter("offset", pageable.getOffset());
+        return rows(query, mapper);
+    }
+
+    private <T> Slice<T> slice(List<T> content, Pageable pageable) {
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    // A single-column native query yields bare values instead of Object[]
+    @SuppressWarnings("unchecked")
+    private <T> List<T> rows(Query query, Function<Object[], T> mapper) {
+        cacheable(query);
+        List<Object> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> mapper.apply(row instanceof Object[] columns ? columns : new Object[]{row}))
+                .toList();
+    }
+
+    // Native SQL is opaque to Hibernate: name the table so writes to courses invalidate the cached results
+    private static void cacheable(Query query) {
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Course.class);
+        query.setHint(HibernateHints.HINT_CACHEABLE, true);
+    }
+
+    private static CourseResponse toResponse(Object[] row) {
+        return new CourseResponse(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                ((Number) row[4]).intValue(),
+                CourseType.valueOf((String) row[5]),
+                (BigDecimal) row[6],
+                ((Number) row[7]).longValue());
+    }
+
+    private static String select(Set<CourseField> fields) {
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (CourseField field : fields) {
+            select.append("c.").append(field.getProperty()).append(", ");
+        }
+        select.setLength(select.length() - 2);
+        return select.append(" FROM courses c").toString();
+    }
+
+    private static Map<String, Object> toFields(Set<CourseField> fields, Object[] row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        int i = 0;
+        for (CourseField field : fields) {
+            values.put(field.getProperty(), row[i++]);
+        }
+        return values;
+    }
+
+    private String where(CourseType type, String text) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (type != null) {
+            where.append(" AND c.type = :type");
+        }
+        if (text != null) {
+            where.append(SEARCH_PREDICATE);
+        }
+        return where.toString();
+    }
+
+    private void bindFilters(Query query, CourseType type, String text) {
+        if (type != null) {
+            query.setParameter("type", type.name());
+        }
+        if (text != null) {
+            query.setParameter("pattern", "%" + escapeLike(text) + "%");
+        }
+    }
+
+    private String orderBy(Sort sort) {
+        StringBuilder order = new StringBuilder();
+        for (Sort.Order o : sort) {
+            order.append("c.").append(column(o.getProperty()))
+                    .append(o.isAscending() ? " ASC" : " DESC")
+                    .append(", ");
+        }
+        return order.append("c.id").toString();
+    }
+
+    private String column(String property) {
+        String column = SORT_COLUMNS.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort column: " + property);
+        }
+        return column;
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
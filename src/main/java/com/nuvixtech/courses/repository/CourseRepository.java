@@ -1,24 +1,83 @@
 package com.nuvixtech.courses.repository;
 
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.CourseSuggestion;
 import com.nuvixtech.courses.model.Course;
 import com.nuvixtech.courses.model.CourseType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CourseRepository extends JpaRepository<Course, Long>,
-        JpaSpecificationExecutor<Course> {
+        JpaSpecificationExecutor<Course>, CourseQueryRepository {
+
+    /**
+     * Read paths select straight into {@link CourseResponse}: no managed
+     * entities, no persistence-context snapshots, no second copy. Their
+     * results are query-cached until a write touches the courses table.
+     */
+    String RESPONSE_SELECT = "select new com.nuvixtech.courses.dto.CourseResponse("
+            + "c.id, c.code, c.name, c.description, c.duration, c.type, c.price, c.version) from Course c";
 
     Optional<Course> findByCode(String code);
 
-    Page<Course> findByType(CourseType type, Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long countByType(CourseType type);
+
+    List<Course> findByCodeIn(Collection<String> codes);
+
+    /** Single-statement delete; returns the number of rows removed (0 or 1). */
+    @Modifying
+    @Query("delete from Course c where c.id = :id")
+    int deleteCourse(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(RESPONSE_SELECT + " where c.id = :id")
+    Optional<CourseResponse> findResponseById(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = RESPONSE_SELECT, countQuery = "select count(c) from Course c")
+    Page<CourseResponse> findResponsePage(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = RESPONSE_SELECT + " where c.type = :type",
+            countQuery = "select count(c) from Course c where c.type = :type")
+    Page<CourseResponse> findResponsePageByType(CourseType type, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(RESPONSE_SELECT)
+    Slice<CourseResponse> findResponseSlice(Pageable pageable);
 
-    Page<Course> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(RESPONSE_SELECT + " where c.type = :type")
+    Slice<CourseResponse> findResponseSliceByType(CourseType type, Pageable pageable);
 
-    Page<Course> findByTypeAndNameContainingIgnoreCase(CourseType type, String name, Pageable pageable);
+    /** Id, code and name of every course, for the suggestion index; not query-cached. */
+    @Query("select new com.nuvixtech.courses.dto.CourseSuggestion(c.id, c.code, c.name) from Course c order by c.id")
+    List<CourseSuggestion> findAllSuggestions();
 
-    boolean existsByCode(String code);
+    /**
+     * Full catalog over a server-side cursor; must be consumed inside a
+     * transaction and closed. Callers should detach rows once used. Rows
+     * bypass the second-level cache so an export does not flush it.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select c from Course c order by c.id")
+    Stream<Course> streamAll();
 }
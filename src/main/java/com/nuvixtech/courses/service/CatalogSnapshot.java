@@ -0,0 +1,462 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseField;
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.dto.SearchableCourse;
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.model.CourseType;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable copy of the whole catalog with the indexes needed to answer a
+ * listing without the database: for each type filter (and none) all
+ * courses presorted by every property served from memory, and a token
+ * index over each course's {@code search_text} as PostgreSQL generated it:
+ * sorted id postings per token, and every suffix of every token in one
+ * sorted array, so the tokens containing a word are a contiguous range
+ * found by binary search. Never changes once built; {@link #with} and
+ * {@link #without} return a new snapshot in which the course is moved by
+ * binary search in each sorted array and in the postings of its tokens,
+ * without re-sorting or re-tokenizing the rest.
+ * <p>
+ * Only id and numeric sorts are served: string order depends on the
+ * database collation, so sorts by code, name or type stay in PostgreSQL
+ * and pages never change order between memory and database. Likewise only
+ * ASCII search texts are matched here: {@code lower} and {@code unaccent}
+ * leave ASCII as Java's lower-casing does, while other characters
+ * ({@code ß}, {@code æ}, accented capitals under the C collation) fold as
+ * only the database knows.
+ */
+final class CatalogSnapshot {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // A word whose tokens hold more ids than 1/8 of the listing does not narrow the search: scan instead
+    private static final int SCAN_SHARE = 8;
+
+    private static final Map<String, Comparator<Entry>> SORTS = Map.of(
+            "id", Comparator.comparing(Entry::id),
+            "duration", byThenId(CourseResponse::getDuration),
+            "price", byThenId(CourseResponse::getPrice)
+    );
+
+    private static final CourseType[] TYPES = CourseType.values();
+
+    // sort property -> type filter (0 = all, 1 + ordinal) -> courses in that order
+    private final Map<String, Entry[][]> orders;
+    private final Map<String, long[]> postings;
+    private final Suffixes suffixes;
+
+    private record Entry(CourseResponse course, String searchText) {
+
+        static Entry of(SearchableCourse course) {
+            return new Entry(course.course(), course.searchText());
+        }
+
+        Long id() {
+            return course.getId();
+        }
+
+        Set<String> tokens() {
+            Set<String> tokens = new LinkedHashSet<>(Arrays.asList(WHITESPACE.split(searchText)));
+            tokens.remove("");
+            return tokens;
+        }
+    }
+
+    // Every suffix of every token, sorted by suffix then token, and the token each one belongs to
+    private record Suffixes(String[] keys, String[] tokens) {
+
+        static Suffixes of(Collection<String> tokens) {
+            return new Suffixes(new String[0], new String[0]).change(Set.of(), tokens);
+        }
+
+        // One merge pass: suffixes of gone tokens dropped, those of born tokens placed
+        Suffixes change(Set<String> gone, Collection<String> born) {
+            if (gone.isEmpty() && born.isEmpty()) {
+                return this;
+            }
+            List<String[]> added = new ArrayList<>();
+            for (String token : born) {
+                for (int i = 0; i < token.length(); i++) {
+                    added.add(new String[]{token.substring(i), token});
+                }
+            }
+            added.sort(Comparator.<String[], String>comparing(pair -> pair[0]).thenComparing(pair -> pair[1]));
+
+            List<String> nextKeys = new ArrayList<>(keys.length + added.size());
+            List<String> nextTokens = new ArrayList<>(keys.length + added.size());
+            int a = 0;
+            for (int i = 0; i <= keys.length; i++) {
+                while (a < added.size() && (i == keys.length || compare(added.get(a), keys[i], tokens[i]) < 0)) {
+                    nextKeys.add(added.get(a)[0]);
+                    nextTokens.add(added.get(a++)[1]);
+                }
+                if (i < keys.length && !gone.contains(tokens[i])) {
+                    nextKeys.add(keys[i]);
+                    nextTokens.add(tokens[i]);
+                }
+            }
+            return new Suffixes(nextKeys.toArray(String[]::new), nextTokens.toArray(String[]::new));
+        }
+
+        private static int compare(String[] pair, String key, String token) {
+            int cmp = pair[0].compareTo(key);
+            return cmp != 0 ? cmp : pair[1].compareTo(token);
+        }
+
+        // First suffix not below the word: those starting with it follow
+        int first(String word) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(word) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private CatalogSnapshot(Map<String, Entry[][]> orders, Map<String, long[]> postings, Suffixes suffixes) {
+        this.orders = orders;
+        this.postings = postings;
+        this.suffixes = suffixes;
+    }
+
+    static CatalogSnapshot of(Collection<SearchableCourse> courses) {
+        Entry[] byId = courses.stream().map(Entry::of).sorted(SORTS.get("id")).toArray(Entry[]::new);
+
+        Map<String, List<Long>> ids = new HashMap<>();
+        for (Entry entry : byId) {
+            for (String token : entry.tokens()) {
+                ids.computeIfAbsent(token, key -> new ArrayList<>()).add(entry.id());
+            }
+        }
+        Map<String, long[]> postings = new HashMap<>(ids.size() * 2);
+        ids.forEach((token, list) -> postings.put(token, list.stream().mapToLong(Long::longValue).toArray()));
+
+        Map<String, Entry[][]> orders = new HashMap<>();
+        SORTS.forEach((property, comparator) -> {
+            Entry[] all = byId.clone();
+            Arrays.sort(all, comparator);
+            Entry[][] byType = new Entry[TYPES.length + 1][];
+            byType[0] = all;
+            for (CourseType type : TYPES) {
+                byType[type.ordinal() + 1] = Arrays.stream(all)
+                        .filter(entry -> entry.course().getType() == type)
+                        .toArray(Entry[]::new);
+            }
+            orders.put(property, byType);
+        });
+        return new CatalogSnapshot(orders, postings, Suffixes.of(postings.keySet()));
+    }
+
+    /** A new snapshot with {@code course} added, or replacing the one with its id. */
+    CatalogSnapshot with(SearchableCourse course) {
+        return change(find(course.course().getId()), Entry.of(course));
+    }
+
+    /** A new snapshot without the course with this id. */
+    CatalogSnapshot without(Long id) {
+        Entry removed = find(id);
+        return removed != null ? change(removed, null) : this;
+    }
+
+    int size() {
+        return orders.get("id")[0].length;
+    }
+
+    private Entry find(Long id) {
+        Entry[] byId = orders.get("id")[0];
+        int low = 0;
+        int high = byId.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = byId[mid].id().compareTo(id);
+            if (cmp == 0) {
+                return byId[mid];
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return null;
+    }
+
+    private CatalogSnapshot change(Entry removed, Entry added) {
+        Map<String, Entry[][]> nextOrders = new HashMap<>();
+        orders.forEach((property, byType) -> {
+            Comparator<Entry> comparator = SORTS.get(property);
+            Entry[][] next = new Entry[byType.length][];
+            next[0] = replace(byType[0], removed, added, comparator);
+            for (CourseType type : TYPES) {
+                int filter = type.ordinal() + 1;
+                Entry out = removed != null && removed.course().getType() == type ? removed : null;
+                Entry in = added != null && added.course().getType() == type ? added : null;
+                next[filter] = out == null && in == null ? byType[filter] : replace(byType[filter], out, in, comparator);
+            }
+            nextOrders.put(property, next);
+        });
+
+        Set<String> dropped = removed != null ? removed.tokens() : Set.of();
+        Set<String> kept = added != null ? added.tokens() : Set.of();
+        Map<String, long[]> nextPostings = new HashMap<>(postings);
+        Set<String> gone = new HashSet<>();
+        List<String> born = new ArrayList<>();
+        for (String token : dropped) {
+            if (!kept.contains(token)) {
+                long[] ids = remove(nextPostings.get(token), removed.id());
+                if (ids.length == 0) {
+                    nextPostings.remove(token);
+                    gone.add(token);
+                } else {
+                    nextPostings.put(token, ids);
+                }
+            }
+        }
+        for (String token : kept) {
+            if (!dropped.contains(token)) {
+                long[] ids = nextPostings.get(token);
+                if (ids == null) {
+                    born.add(token);
+                }
+                nextPostings.put(token, insert(ids != null ? ids : new long[0], added.id()));
+            }
+        }
+        return new CatalogSnapshot(nextOrders, nextPostings, suffixes.change(gone, born));
+    }
+
+    // One copy of a sorted array without removed and with added at its place; both may be null
+    private static Entry[] replace(Entry[] sorted, Entry removed, Entry added, Comparator<Entry> comparator) {
+        int drop = removed != null ? Arrays.binarySearch(sorted, removed, comparator) : -1;
+        int at = -1;
+        if (added != null) {
+            int found = Arrays.binarySearch(sorted, added, comparator);
+            at = found >= 0 ? found : -found - 1;
+        }
+        Entry[] next = new Entry[sorted.length - (drop >= 0 ? 1 : 0) + (added != null ? 1 : 0)];
+        int target = 0;
+        for (int source = 0; source <= sorted.length; source++) {
+            if (source == at) {
+                next[target++] = added;
+            }
+            if (source < sorted.length && source != drop) {
+                next[target++] = sorted[source];
+            }
+        }
+        return next;
+    }
+
+    private static long[] remove(long[] ids, long id) {
+        int found = Arrays.binarySearch(ids, id);
+        if (found < 0) {
+            return ids;
+        }
+        long[] next = new long[ids.length - 1];
+        System.arraycopy(ids, 0, next, 0, found);
+        System.arraycopy(ids, found + 1, next, found, ids.length - found - 1);
+        return next;
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int found = Arrays.binarySearch(ids, id);
+        if (found >= 0) {
+            return ids;
+        }
+        int at = -found - 1;
+        long[] next = new long[ids.length + 1];
+        System.arraycopy(ids, 0, next, 0, at);
+        next[at] = id;
+        System.arraycopy(ids, at, next, at + 1, ids.length - at);
+        return next;
+    }
+
+    /**
+     * Whether {@link #findAll} can answer this request like the database
+     * would: a single ascending sort on id, duration or price, or no sort
+     * without a search text, and a search text (if any) in ASCII. Ranking by
+     * relevance, string sorts and other texts stay in PostgreSQL.
+     */
+    boolean supports(String text, Pageable pageable) {
+        if (pageable.isUnpaged() || (text != null && !text.chars().allMatch(c -> c < 0x80))) {
+            return false;
+        }
+        Iterator<Sort.Order> sort = pageable.getSort().iterator();
+        if (!sort.hasNext()) {
+            return text == null;
+        }
+        Sort.Order order = sort.next();
+        return !sort.hasNext() && order.isAscending() && SORTS.containsKey(order.getProperty());
+    }
+
+    /**
+     * One page of courses matching the type and search text (a
+     * case- and accent-insensitive substring of name and description),
+     * projected with {@code projection}. Totals are always exact.
+     */
+    <T> PagedResponse<T> findAll(CourseType type, String text, Pageable pageable, TotalType total,
+                                 Function<CourseResponse, T> projection) {
+        Sort.Order sort = pageable.getSort().stream().findFirst().orElse(null);
+        String property = sort != null ? sort.getProperty() : "id";
+        Entry[] order = orders.get(property)[type != null ? type.ordinal() + 1 : 0];
+        long offset = pageable.getOffset();
+        long end = offset + pageable.getPageSize();
+        List<T> content = new ArrayList<>((int) Math.min(pageable.getPageSize(), order.length));
+
+        String needle = text != null ? text.toLowerCase(Locale.ROOT) : null;
+        long[] candidates = needle != null ? candidates(needle, order.length / SCAN_SHARE) : null;
+        long matched;
+        if (candidates != null) {
+            // few courses can match: check those, then sort them
+            List<Entry> matches = new ArrayList<>();
+            for (long id : candidates) {
+                Entry entry = find(id);
+                if (entry != null && (type == null || entry.course().getType() == type)
+                        && entry.searchText().contains(needle)) {
+                    matches.add(entry);
+                }
+            }
+            if (!property.equals("id")) {
+                matches.sort(SORTS.get(property));
+            }
+            for (long i = offset; i < Math.min(end, matches.size()); i++) {
+                content.add(projection.apply(matches.get((int) i).course()));
+            }
+            matched = matches.size();
+        } else if (needle == null) {
+            for (long i = offset; i < Math.min(end, order.length); i++) {
+                content.add(projection.apply(order[(int) i].course()));
+            }
+            matched = order.length;
+        } else {
+            matched = 0;
+            for (Entry entry : order) {
+                if (!entry.searchText().contains(needle)) {
+                    continue;
+                }
+                if (matched >= offset && matched < end) {
+                    content.add(projection.apply(entry.course()));
+                }
+                matched++;
+                if (total == TotalType.NONE && matched > end) {
+                    break;
+                }
+            }
+        }
+
+        if (total == TotalType.NONE) {
+            return PagedResponse.from(new SliceImpl<>(content, pageable, matched > end));
+        }
+        return PagedResponse.from(new PageImpl<>(content, pageable, matched));
+    }
+
+    /** Course properties as the sparse-fieldset queries return them (the type as its name). */
+    static Function<CourseResponse, Map<String, Object>> project(Set<CourseField> fields) {
+        return course -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (CourseField field : fields) {
+                values.put(field.getProperty(), switch (field) {
+                    case ID -> course.getId();
+                    case CODE -> course.getCode();
+                    case NAME -> course.getName();
+                    case DESCRIPTION -> course.getDescription();
+                    case DURATION -> course.getDuration();
+                    case TYPE -> course.getType().name();
+                    case PRICE -> course.getPrice();
+                });
+            }
+            return values;
+        };
+    }
+
+    // Every whitespace-free word of the needle lies inside a single token of a matching text, so the
+    // ids of the tokens containing each word, intersected, give the candidates, sorted by id. Words
+    // held by more than limit ids are skipped; null when no word narrows the search
+    private long[] candidates(String needle, int limit) {
+        long[] candidates = null;
+        for (String word : WHITESPACE.split(needle)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            long[] ids = idsContaining(word, limit);
+            if (ids != null) {
+                candidates = candidates == null ? ids : intersect(candidates, ids);
+            }
+        }
+        return candidates;
+    }
+
+    private long[] idsContaining(String word, int limit) {
+        List<long[]> lists = new ArrayList<>();
+        int size = 0;
+        for (int i = suffixes.first(word); i < suffixes.keys().length && suffixes.keys()[i].startsWith(word); i++) {
+            long[] ids = postings.get(suffixes.tokens()[i]);
+            size += ids.length;
+            if (size > limit) {
+                return null;
+            }
+            lists.add(ids);
+        }
+        long[] all = new long[size];
+        int at = 0;
+        for (long[] ids : lists) {
+            System.arraycopy(ids, 0, all, at, ids.length);
+            at += ids.length;
+        }
+        Arrays.sort(all);
+        int distinct = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[distinct++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] both = new long[Math.min(left.length, right.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                both[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(both, size);
+    }
+
+    private static <U extends Comparable<? super U>> Comparator<Entry> byThenId(Function<CourseResponse, U> property) {
+        return Comparator.comparing((Entry entry) -> property.apply(entry.course())).thenComparing(Entry::id);
+    }
+}
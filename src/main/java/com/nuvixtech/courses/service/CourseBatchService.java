@@ -0,0 +1,232 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.BatchItemError;
+import com.nuvixtech.courses.dto.BatchResponse;
+import com.nuvixtech.courses.dto.CourseBatchUpdateRequest;
+import com.nuvixtech.courses.dto.CourseRequest;
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.UpsertResponse;
+import com.nuvixtech.courses.dto.UpsertedCourse;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.exception.BatchTooLargeException;
+import com.nuvixtech.courses.model.Course;
+import com.nuvixtech.courses.repository.CourseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create/update/upsert. Items are validated one by one and invalid ones are
+ * reported by index instead of failing the whole request; valid ones are
+ * written in chunks that are flushed as JDBC batches and then cleared from
+ * the persistence context, so memory does not grow with the batch size.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CourseBatchService {
+
+    private static final String DUPLICATE_CODE = "El código ya existe";
+    private static final String REPEATED_CODE = "El código está repetido en el lote";
+
+    private final CourseRepository courseRepository;
+    private final CourseRequestValidator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseIdFilter idFilter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.courses.batch.max-items:100000}")
+    private int maxItems = 100_000;
+
+    @Value("${app.courses.batch.chunk-size:500}")
+    private int chunkSize = 500;
+
+    public BatchResponse createAll(List<CourseRequest> requests) {
+        checkSize(requests);
+        List<CourseResponse> created = new ArrayList<>();
+        List<BatchItemError> errors = new ArrayList<>();
+        Set<String> seenCodes = new HashSet<>();
+
+        for (int start = 0; start < requests.size(); start += chunkSize) {
+            List<CourseRequest> chunk = requests.subList(start, Math.min(start + chunkSize, requests.size()));
+            Set<String> existingCodes = courseRepository.findByCodeIn(codesOf(chunk)).stream()
+                    .map(Course::getCode)
+                    .collect(Collectors.toSet());
+
+            List<Course> toSave = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                CourseRequest request = chunk.get(i);
+                Map<String, String> itemErrors = validator.validate(request);
+                if (itemErrors.isEmpty()
+                        && (existingCodes.contains(request.getCode()) || !seenCodes.add(request.getCode()))) {
+                    itemErrors.put("code", DUPLICATE_CODE);
+                }
+                if (!itemErrors.isEmpty()) {
+                    errors.add(itemError(start + i, itemErrors));
+                    continue;
+                }
+                Course course = new Course();
+                CourseService.applyRequest(course, request);
+                toSave.add(course);
+            }
+
+            courseRepository.saveAll(toSave).forEach(course -> created.add(CourseService.toResponse(course)));
+            flushAndClear();
+        }
+
+        // other writers only see a bulk change, after commit: the id filter must know these ids before then
+        idFilter.created(created.stream().map(CourseResponse::getId).toList());
+        publishIfChanged(created);
+        return response(requests.size(), created, errors);
+    }
+
+    public BatchResponse updateAll(List<CourseBatchUpdateRequest> requests) {
+        checkSize(requests);
+        List<CourseResponse> updated = new ArrayList<>();
+        List<BatchItemError> errors = new ArrayList<>();
+        Set<String> seenCodes = new HashSet<>();
+
+        for (int start = 0; start < requests.size(); start += chunkSize) {
+            List<CourseBatchUpdateRequest> chunk = requests.subList(start, Math.min(start + chunkSize, requests.size()));
+            Map<Long, Course> found = courseRepository.findAllById(chunk.stream()
+                            .filter(Objects::nonNull)
+                            .map(CourseBatchUpdateRequest::getId)
+                            .filter(Objects::nonNull)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(Course::getId, Function.identity()));
+            Map<String, Long> codeOwners = courseRepository.findByCodeIn(codesOf(chunk)).stream()
+                    .collect(Collectors.toMap(Course::getCode, Course::getId));
+            List<Course> changed = new ArrayList<>();
+
+            for (int i = 0; i < chunk.size(); i++) {
+                CourseBatchUpdateRequest request = chunk.get(i);
+                Map<String, String> itemErrors = validator.validate(request);
+                Course course = itemErrors.isEmpty() ? found.get(request.getId()) : null;
+                if (itemErrors.isEmpty() && course == null) {
+                    itemErrors.put("id", "Course not found with id: " + request.getId());
+                }
+                if (itemErrors.isEmpty()) {
+                    Long owner = codeOwners.get(request.getCode());
+                    if ((owner != null && !owner.equals(request.getId())) || !seenCodes.add(request.getCode())) {
+                        itemErrors.put("code", DUPLICATE_CODE);
+                    }
+                }
+                if (!itemErrors.isEmpty()) {
+                    errors.add(itemError(start + i, itemErrors));
+                    continue;
+                }
+                CourseService.applyRequest(course, request);
+                changed.add(course);
+            }
+
+            // the flush bumps @Version: responses carry the version now stored, as the ETags do
+            entityManager.flush();
+            changed.forEach(course -> updated.add(CourseService.toResponse(course)));
+            entityManager.clear();
+        }
+
+        publishIfChanged(updated);
+        return response(requests.size(), updated, errors);
+    }
+
+    /**
+     * Upsert by code: every valid item is inserted or updated in a single
+     * statement, so the batch either lands whole or not at all and
+     * concurrent syncs cannot collide on the unique key. A code repeated in
+     * the batch is reported on each occurrence after the first.
+     */
+    public UpsertResponse upsertAll(List<CourseRequest> requests) {
+        checkSize(requests);
+        List<CourseRequest> valid = new ArrayList<>();
+        List<BatchItemError> errors = new ArrayList<>();
+        Set<String> seenCodes = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CourseRequest request = requests.get(i);
+            Map<String, String> itemErrors = validator.validate(request);
+            if (itemErrors.isEmpty() && !seenCodes.add(request.getCode())) {
+                itemErrors.put("code", REPEATED_CODE);
+            }
+            if (!itemErrors.isEmpty()) {
+                errors.add(itemError(i, itemErrors));
+                continue;
+            }
+            valid.add(request);
+        }
+
+        List<UpsertedCourse> upserted = courseRepository.upsertByCode(valid);
+        List<CourseResponse> courses = upserted.stream().map(UpsertedCourse::course).toList();
+        int inserted = (int) upserted.stream().filter(UpsertedCourse::inserted).count();
+        idFilter.created(upserted.stream()
+                .filter(UpsertedCourse::inserted)
+                .map(course -> course.course().getId())
+                .toList());
+        publishIfChanged(courses);
+        return UpsertResponse.builder()
+                .received(requests.size())
+                .inserted(inserted)
+                .updated(courses.size() - inserted)
+                .failed(errors.size())
+                .courses(courses)
+                .errors(errors)
+                .build();
+    }
+
+    private void checkSize(List<?> requests) {
+        if (requests.size() > maxItems) {
+            throw new BatchTooLargeException(requests.size(), maxItems);
+        }
+    }
+
+    private List<String> codesOf(List<? extends CourseRequest> chunk) {
+        return chunk.stream()
+                .filter(Objects::nonNull)
+                .map(CourseRequest::getCode)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void publishIfChanged(List<CourseResponse> changed) {
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(CourseChangedEvent.bulk());
+        }
+    }
+
+    private BatchItemError itemError(int index, Map<String, String> errors) {
+        return BatchItemError.builder()
+                .index(index)
+                .errors(errors)
+                .build();
+    }
+
+    private BatchResponse response(int received, List<CourseResponse> courses, List<BatchItemError> errors) {
+        return BatchResponse.builder()
+                .received(received)
+                .succeeded(courses.size())
+                .failed(errors.size())
+                .courses(courses)
+                .errors(errors)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.model.Course;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops second-level and query cache entries once a course change commits.
+ * Writes made through Hibernate on this node are already reflected there;
+ * this covers the ones it cannot see: bulk writes in plain SQL (the COPY
+ * import) and writes made by other nodes, relayed by {@link CourseChangeChannel}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Order(CourseJsonCache.ORDER - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        Cache cache = cache();
+        if (event.id() != null) {
+            cache.evictEntityData(Course.class, event.id());
+        } else {
+            cache.evictEntityData(Course.class);
+        }
+        cache.evictQueryRegions();
+    }
+
+    public void evictAll() {
+        Cache cache = cache();
+        cache.evictEntityData(Course.class);
+        cache.evictQueryRegions();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+}
@@ -0,0 +1,252 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseField;
+import com.nuvixtech.courses.dto.CourseSuggestion;
+import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.dto.SearchableCourse;
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * In-memory read engine for {@code GET /api/courses/suggest}, always on,
+ * and optionally ({@code app.courses.catalog.enabled}) for
+ * {@code GET /api/courses}: a {@link SuggestionIndex} over every course, and
+ * a {@link CatalogSnapshot} of the whole catalog.
+ * <p>
+ * Reads take the current index or snapshot with one volatile read: no lock,
+ * no transaction, no pool connection and no bulkhead permit, which is why
+ * this is a plain component rather than part of {@link CourseService}. Each
+ * committed change, local or relayed by {@link CourseChangeChannel}, is
+ * queued to the {@code course-catalog} thread, which re-reads the affected
+ * row once and swaps in an index and a snapshot updated with it; bulk changes
+ * reload both. The committing thread only queues the change, so it never
+ * waits for a query or a reload. While changes are queued both reads step
+ * aside to the database, so a client reading its own write, or the JSON
+ * cache reloading after it, never gets the state before it. When the
+ * snapshot cannot be kept current (a catalog above {@code max-courses}, or a
+ * failed reload) listings go back to the database; suggestions do so only
+ * until the index has loaded.
+ */
+@Slf4j
+@Component
+public class CourseCatalog implements SmartLifecycle {
+
+    private final CourseRepository courseRepository;
+    private final CourseMetrics metrics;
+    private final Timer rebuilds;
+
+    @Value("${app.courses.catalog.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${app.courses.catalog.max-courses:100000}")
+    private int maxCourses = 100_000;
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile SuggestionIndex suggestions;
+
+    // changes queued and not yet applied; reads go to the database meanwhile
+    private final AtomicInteger pending = new AtomicInteger();
+    // serializes the updater thread with load() and direct reloads
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile ExecutorService updates;
+
+    public CourseCatalog(CourseRepository courseRepository, CourseMetrics metrics, MeterRegistry meterRegistry) {
+        this.courseRepository = courseRepository;
+        this.metrics = metrics;
+        this.rebuilds = Timer.builder("courses.catalog.rebuild")
+                .description("Time to read changes and build a new catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder("courses.catalog.courses", this, catalog -> {
+                    CatalogSnapshot current = catalog.snapshot;
+                    return current != null ? current.size() : Double.NaN;
+                })
+                .description("Courses in the in-memory catalog; NaN while reads go to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Listing page from memory, or empty when the catalog is off, not
+     * loaded, or the request needs the database (relevance ranking, multiple
+     * or descending sorts). {@code fields} null means full responses.
+     */
+    public Optional<PagedResponse<?>> findAll(CourseType type, String name, Pageable pageable, TotalType total,
+                                              Set<CourseField> fields) {
+        CatalogSnapshot current = snapshot;
+        String text = name != null && !name.isBlank() ? name : null;
+        Pageable request = text == null ? CourseService.withoutRelevance(pageable) : pageable;
+        if (current == null || pending.get() > 0 || !current.supports(text, request)) {
+            return Optional.empty();
+        }
+        return Optional.of(metrics.read("findAll", CourseMetrics.branch(type, text), CourseMetrics.CATALOG,
+                fields != null, pageable.getPageSize(), () -> fields == null
+                        ? current.findAll(type, text, request, total, Function.identity())
+                        : current.findAll(type, text, request, total, CatalogSnapshot.project(fields))));
+    }
+
+    /**
+     * Search-box suggestions from memory, or empty until the index has
+     * loaded and while changes are being applied.
+     */
+    public Optional<List<CourseSuggestion>> suggest(String query, int limit) {
+        SuggestionIndex current = suggestions;
+        if (current == null || pending.get() > 0) {
+            return Optional.empty();
+        }
+        int size = CourseService.suggestionLimit(limit);
+        return Optional.of(metrics.read("suggest", "prefix", CourseMetrics.CATALOG, false, size,
+                () -> current.suggest(query, size)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    // before the JSON cache clears: once the change is pending, what it reloads comes from the database
+    @Order(CourseJsonCache.ORDER - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        ExecutorService executor = updates;
+        if (executor == null) {
+            return;
+        }
+        pending.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    apply(event);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pending.decrementAndGet();
+        }
+    }
+
+    private void apply(CourseChangedEvent event) {
+        lock.lock();
+        try {
+            applyLocked(event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyLocked(CourseChangedEvent event) {
+        SuggestionIndex index = suggestions;
+        if (event.id() == null || index == null) {
+            reload();
+            return;
+        }
+        CatalogSnapshot current = snapshot;
+        try {
+            rebuilds.record(() -> {
+                List<SearchableCourse> rows = courseRepository.findSearchable(event.id());
+                SearchableCourse row = rows.isEmpty() ? null : rows.getFirst();
+                suggestions = row == null ? index.without(event.id()) : index.with(CourseSuggestion.of(row.course()));
+                if (current != null) {
+                    snapshot = row == null ? current.without(event.id()) : current.with(row);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Could not apply {} to the course catalog, reloading it", event, ex);
+            reload();
+            return;
+        }
+        if (enabled && current == null) {
+            reloadSnapshot();
+        }
+    }
+
+    void reload() {
+        lock.lock();
+        try {
+            reloadLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reloadLocked() {
+        List<SearchableCourse> catalog = null;
+        if (enabled) {
+            catalog = reloadSnapshot();
+        } else {
+            snapshot = null;
+        }
+        List<SearchableCourse> rows = catalog;
+        try {
+            suggestions = rebuilds.record(() -> SuggestionIndex.of(rows != null
+                    ? rows.stream().map(row -> CourseSuggestion.of(row.course())).toList()
+                    : courseRepository.findAllSuggestions()));
+        } catch (RuntimeException ex) {
+            log.warn("Could not load the suggestion index, suggesting from the database", ex);
+            suggestions = null;
+        }
+    }
+
+    // The rows loaded, or null when listings stay in the database
+    private List<SearchableCourse> reloadSnapshot() {
+        try {
+            long count = courseRepository.count();
+            if (count > maxCourses) {
+                log.warn("Catalog of {} courses exceeds app.courses.catalog.max-courses={}, listing from the database",
+                        count, maxCourses);
+                snapshot = null;
+                return null;
+            }
+            List<SearchableCourse> rows = courseRepository.findSearchable(null);
+            snapshot = rebuilds.record(() -> CatalogSnapshot.of(rows));
+            log.info("Course catalog loaded: {} courses", snapshot.size());
+            return rows;
+        } catch (RuntimeException ex) {
+            log.warn("Could not load the course catalog, listing from the database", ex);
+            snapshot = null;
+            return null;
+        }
+    }
+
+    @Override
+    public void start() {
+        updates = Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("course-catalog").factory());
+    }
+
+    @Override
+    public void stop() {
+        ExecutorService executor = updates;
+        updates = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return updates != null;
+    }
+}
@@ -0,0 +1,195 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Keeps in-process course caches coherent across API nodes with PostgreSQL
+ * {@code LISTEN/NOTIFY}.
+ * <p>
+ * Every write queues a {@code pg_notify} in its own transaction, so the
+ * notification goes out on commit and never for a rollback. Each node holds
+ * one connection outside the Hikari pool that listens on the channel and
+ * republishes changes made by other nodes as local {@link CourseChangedEvent}s,
+ * which the cache owners evict on. Notifications sent while that connection
+ * is down are lost, so every (re)connect is treated as a bulk change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseChangeChannel implements SmartLifecycle {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${app.courses.notify.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.courses.notify.channel:course_changes}")
+    private String channel = "course_changes";
+
+    @Value("${app.courses.notify.poll-timeout:10s}")
+    private Duration pollTimeout = Duration.ofSeconds(10);
+
+    @Value("${app.courses.notify.max-reconnect-delay:30s}")
+    private Duration maxReconnectDelay = Duration.ofSeconds(30);
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    // Only for writes inside a transaction: changes relayed from other nodes are published outside one
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (enabled) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, channel, encode(nodeId, event));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("course-change-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            closeQuietly(connection);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        long delay = 1000;
+        while (running) {
+            try (Connection conn = connect()) {
+                connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN \"" + channel + "\"");
+                }
+                // Anything may have changed while no connection was listening
+                eventPublisher.publishEvent(CourseChangedEvent.bulk());
+                delay = 1000;
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            relayQuietly(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Course change listener lost its connection, retrying in {} ms: {}", delay, ex.toString());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                delay = Math.min(delay * 2, maxReconnectDelay.toMillis());
+            }
+        }
+    }
+
+    // A listener failing on one change must not stop the relay of the next ones
+    private void relayQuietly(String payload) {
+        try {
+            relay(payload);
+        } catch (RuntimeException ex) {
+            log.warn("Could not apply course change '{}' relayed from another node", payload, ex);
+        }
+    }
+
+    private void relay(String payload) {
+        CourseChangedEvent event = decode(nodeId, payload);
+        if (event != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        // The primary pool's settings, also when reads are routed to a replica
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        Properties properties = new Properties();
+        properties.putAll(pool.getDataSourceProperties());
+        if (pool.getUsername() != null) {
+            properties.setProperty("user", pool.getUsername());
+        }
+        if (pool.getPassword() != null) {
+            properties.setProperty("password", pool.getPassword());
+        }
+        properties.setProperty("ApplicationName", "courses-api-listener");
+        return DriverManager.getConnection(pool.getJdbcUrl(), properties);
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {
+                // shutting down
+            }
+        }
+    }
+
+    static String encode(String nodeId, CourseChangedEvent event) {
+        return nodeId + "|" + event.change() + "|" + (event.id() != null ? event.id() : "");
+    }
+
+    /**
+     * Returns the change carried by a payload, or null for changes made by
+     * this node, which were already applied locally. A payload it cannot read
+     * counts as a bulk change.
+     */
+    static CourseChangedEvent decode(String nodeId, String payload) {
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 3) {
+            return CourseChangedEvent.bulk();
+        }
+        if (parts[0].equals(nodeId)) {
+            return null;
+        }
+        try {
+            CourseChangedEvent.Change change = CourseChangedEvent.Change.valueOf(parts[1]);
+            return new CourseChangedEvent(change, parts[2].isEmpty() ? null : Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            return CourseChangedEvent.bulk();
+        }
+    }
+}
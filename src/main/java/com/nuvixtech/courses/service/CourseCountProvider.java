@@ -0,0 +1,91 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Supplies listing totals without running {@code count(*)} on every request:
+ * exact counts cached per filter until the next write, or the planner's
+ * row estimate from {@code pg_class.reltuples} for unfiltered listings.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseCountProvider {
+
+    private static final String ESTIMATE_SQL =
+            "SELECT reltuples::bigint FROM pg_class WHERE oid = 'courses'::regclass";
+
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<FilterKey, Long> exactCounts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${app.courses.count-cache.max-entries:1000}")
+    private int maxEntries = 1000;
+
+    public record Total(long value, TotalType type) {
+    }
+
+    private record FilterKey(CourseType type, String name) {
+    }
+
+    public Total count(TotalType requested, CourseType type, String name) {
+        if (requested == TotalType.ESTIMATED && type == null && name == null) {
+            Long estimate = jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class);
+            // reltuples is -1 until the table has been vacuumed or analyzed
+            if (estimate != null && estimate >= 0) {
+                return new Total(estimate, TotalType.ESTIMATED);
+            }
+        }
+        return new Total(cachedCount(type, name), TotalType.CACHED);
+    }
+
+    private long cachedCount(CourseType type, String name) {
+        FilterKey key = new FilterKey(type, name != null ? name.toLowerCase() : null);
+        Long cached = exactCounts.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        long count = exactCount(type, name);
+        if (exactCounts.size() >= maxEntries) {
+            exactCounts.clear();
+        }
+        exactCounts.put(key, count);
+        // A write committed while counting may be missing from the count: drop it. The listener bumps
+        // the generation before clearing, so either it removes this entry or this check sees the bump
+        if (generation.get() != seen) {
+            exactCounts.remove(key, count);
+        }
+        return count;
+    }
+
+    private long exactCount(CourseType type, String name) {
+        if (name != null) {
+            return courseRepository.countSearch(type, name);
+        } else if (type != null) {
+            return courseRepository.countByType(type);
+        }
+        return courseRepository.count();
+    }
+
+    @Order(CourseJsonCache.ORDER - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        generation.incrementAndGet();
+        exactCounts.clear();
+    }
+}
@@ -0,0 +1,77 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.exception.InvalidCursorException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset position for {@code GET /api/courses/scroll}: the sort field,
+ * the sort key of the last row returned and its id, encoded as base64url.
+ * The token is only valid for the sort field it was issued for.
+ */
+public record CourseCursor(String sort, Object value, Long id) {
+
+    private static final Map<String, Function<CourseResponse, Object>> SORT_KEYS = Map.of(
+            "id", CourseResponse::getId,
+            "code", CourseResponse::getCode,
+            "name", CourseResponse::getName,
+            "duration", CourseResponse::getDuration,
+            "price", CourseResponse::getPrice,
+            "type", course -> course.getType().name()
+    );
+
+    public static boolean isSortable(String sort) {
+        return SORT_KEYS.containsKey(sort);
+    }
+
+    public static CourseCursor of(String sort, CourseResponse last) {
+        return new CourseCursor(sort, SORT_KEYS.get(sort).apply(last), last.getId());
+    }
+
+    /**
+     * Cursor for a sparse-fieldset row; the row must hold the id and the sort field.
+     */
+    public static CourseCursor of(String sort, Map<String, Object> last) {
+        return new CourseCursor(sort, last.get(sort), ((Number) last.get("id")).longValue());
+    }
+
+    public String encode() {
+        String raw = sort + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CourseCursor decode(String token, String expectedSort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (parts.length != 3) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (!parts[0].equals(expectedSort)) {
+            throw new InvalidCursorException("Cursor was issued for sort '" + parts[0] + "', not '" + expectedSort + "'");
+        }
+        try {
+            return new CourseCursor(parts[0], parseValue(parts[0], parts[2]), Long.valueOf(parts[1]));
+        } catch (NumberFormatException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    private static Object parseValue(String sort, String value) {
+        return switch (sort) {
+            case "id" -> Long.valueOf(value);
+            case "duration" -> Integer.valueOf(value);
+            case "price" -> new BigDecimal(value);
+            default -> value;
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CatalogFormat;
+import com.nuvixtech.courses.model.Course;
+import com.nuvixtech.courses.repository.CourseRepository;
+import com.nuvixtech.courses.util.Csv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog straight to an output stream. Rows come from a
+ * server-side cursor ({@link CourseRepository#streamAll()}) and each entity
+ * is detached once written, so memory stays flat regardless of table size.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseExportService {
+
+    private static final String CSV_HEADER = "id,code,name,description,duration,type,price\n";
+
+    private final CourseRepository courseRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long export(CatalogFormat format, OutputStream target) throws IOException {
+        OutputStream out = new BufferedOutputStream(target, 64 * 1024);
+        long rows = 0;
+
+        if (format == CatalogFormat.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+        try (Stream<Course> courses = courseRepository.streamAll()) {
+            Iterator<Course> it = courses.iterator();
+            while (it.hasNext()) {
+                Course course = it.next();
+                out.write(format == CatalogFormat.CSV ? toCsv(course) : toJson(course));
+                out.write('\n');
+                entityManager.detach(course);
+                rows++;
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    private byte[] toJson(Course course) {
+        return objectMapper.writeValueAsBytes(CourseService.toResponse(course));
+    }
+
+    private byte[] toCsv(Course course) {
+        String line = String.join(",",
+                Csv.escape(course.getId()),
+                Csv.escape(course.getCode()),
+                Csv.escape(course.getName()),
+                Csv.escape(course.getDescription()),
+                Csv.escape(course.getDuration()),
+                Csv.escape(course.getType()),
+                Csv.escape(course.getPrice() != null ? course.getPrice().toPlainString() : null));
+        return line.getBytes(StandardCharsets.UTF_8);
+    }
+}
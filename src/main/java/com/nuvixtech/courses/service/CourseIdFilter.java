@@ -0,0 +1,229 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Membership filter over existing course ids, so lookups of ids that do not
+ * exist are answered 404 without a database round trip. Ids come from
+ * {@code courses_id_seq} and are never reused, so a bitmap with one bit per
+ * id issued is exact and small (12.5 MB per 100 million ids): no false
+ * positives, unlike a Bloom filter.
+ * <p>
+ * Hibernate hands out ids from blocks of 50 fetched earlier, so a node may
+ * create an id below the highest one in the table. Only ids below the last
+ * {@code app.courses.id-filter.open-blocks} blocks the sequence had issued
+ * at the last rebuild are ever reported absent; the rest are looked up in
+ * the database. Committed creates and deletes flip their bit, and batch
+ * creates mark their ids before committing. A course created on another
+ * node from a block older than that window is only known here once it
+ * arrives through {@link CourseChangeChannel}, so several nodes must not run
+ * the filter with {@code app.courses.notify} off. Bulk changes drop the
+ * bitmap until a rebuild, which also runs every
+ * {@code app.courses.id-filter.rebuild-interval}.
+ */
+@Slf4j
+@Component
+public class CourseIdFilter implements SmartLifecycle {
+
+    private static final String MAX_ID_SQL = "SELECT max(id) FROM courses";
+    private static final String SEQUENCE_SQL = "SELECT last_value - ? * increment_by FROM pg_sequences "
+            + "WHERE schemaname = current_schema() AND sequencename = 'courses_id_seq'";
+    private static final String IDS_SQL = "SELECT id FROM courses WHERE id > ? AND id <= ? ORDER BY id LIMIT ?";
+    private static final int CHUNK_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter rejected;
+
+    @Value("${app.courses.id-filter.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.courses.id-filter.max-id:100000000}")
+    private long maxId = 100_000_000;
+
+    @Value("${app.courses.id-filter.rebuild-interval:10m}")
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    @Value("${app.courses.id-filter.open-blocks:20}")
+    private int openBlocks = 20;
+
+    // bumped on every bulk change: a rebuild that overlapped one does not publish its bitmap
+    private final AtomicLong bulkChanges = new AtomicLong();
+    private volatile Bitmap bitmap;
+    private volatile Bitmap building;
+    private volatile ScheduledExecutorService rebuilds;
+
+    public CourseIdFilter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rejected = Counter.builder("courses.id.filter.rejected")
+                .description("Lookups of ids answered as missing without querying the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the course with this id certainly does not exist. False when
+     * it exists, when it may have been created since the last rebuild, or
+     * while the filter is off, not loaded or dropped by a bulk change.
+     */
+    public boolean isAbsent(Long id) {
+        Bitmap current = bitmap;
+        if (current == null || id == null || !current.covers(id) || current.get(id)) {
+            return false;
+        }
+        rejected.increment();
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        switch (event.change()) {
+            case CREATED -> mark(event.id(), true);
+            case DELETED -> mark(event.id(), false);
+            case BULK -> {
+                bulkChanges.incrementAndGet();
+                bitmap = null;
+                ScheduledExecutorService executor = rebuilds;
+                if (executor != null) {
+                    executor.execute(this::rebuildQuietly);
+                }
+            }
+            case UPDATED -> {
+            }
+        }
+    }
+
+    /**
+     * Marks ids as existing before their transaction commits, for writers
+     * that only publish a bulk change. Harmless if it rolls back: those ids
+     * are then looked up.
+     */
+    public void created(Collection<Long> ids) {
+        ids.forEach(id -> mark(id, true));
+    }
+
+    // building before bitmap: a rebuild publishes bitmap first, so seeing no build in progress
+    // guarantees seeing its result
+    private void mark(Long id, boolean exists) {
+        Bitmap next = building;
+        Bitmap current = bitmap;
+        for (Bitmap target : new Bitmap[]{next, current}) {
+            if (target != null && id != null && target.covers(id)) {
+                target.set(id, exists);
+            }
+        }
+    }
+
+    /**
+     * Reads every id below the open sequence blocks, in keyset chunks on the
+     * primary, into a new bitmap and swaps it in. Changes committed meanwhile
+     * are applied to both bitmaps; a bulk change meanwhile discards it.
+     */
+    synchronized void rebuild() {
+        long bulks = bulkChanges.get();
+        // sequence first: ids taken from it afterwards are all above the window
+        Long closed = jdbcTemplate.queryForObject(SEQUENCE_SQL, Long.class, openBlocks);
+        Long max = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+        long highest = Math.max(0, Math.min(max != null ? max : 0, closed != null ? closed : Long.MAX_VALUE));
+        if (highest > maxId) {
+            log.warn("Course ids reach {}, above app.courses.id-filter.max-id={}; missing ids are looked up",
+                    highest, maxId);
+            bitmap = null;
+            return;
+        }
+        Bitmap next = new Bitmap(highest);
+        building = next;
+        try {
+            long after = -1;
+            List<Long> ids;
+            do {
+                ids = jdbcTemplate.queryForList(IDS_SQL, Long.class, after, highest, CHUNK_SIZE);
+                for (Long id : ids) {
+                    next.set(id, true);
+                }
+                after = ids.isEmpty() ? after : ids.getLast();
+            } while (ids.size() == CHUNK_SIZE);
+            if (bulkChanges.get() == bulks) {
+                bitmap = next;
+            }
+        } finally {
+            building = null;
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("Could not rebuild the course id filter, missing ids are looked up", ex);
+            bitmap = null;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("course-id-filter").factory());
+        rebuilds = executor;
+        rebuildQuietly();
+        executor.scheduleWithFixedDelay(this::rebuildQuietly,
+                rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = rebuilds;
+        rebuilds = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return rebuilds != null;
+    }
+
+    /** Bits for ids {@code 0..maxId}, settable from any thread without locking. */
+    private static final class Bitmap {
+
+        private final long maxId;
+        private final AtomicLongArray words;
+
+        Bitmap(long maxId) {
+            this.maxId = maxId;
+            this.words = new AtomicLongArray((int) (maxId >>> 6) + 1);
+        }
+
+        boolean covers(long id) {
+            return id >= 0 && id <= maxId;
+        }
+
+        boolean get(long id) {
+            return (words.get((int) (id >>> 6)) & (1L << id)) != 0;
+        }
+
+        void set(long id, boolean value) {
+            long bit = 1L << id;
+            words.getAndUpdate((int) (id >>> 6), word -> value ? word | bit : word & ~bit);
+        }
+    }
+}
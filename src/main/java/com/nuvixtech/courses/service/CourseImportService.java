@@ -0,0 +1,248 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.BatchItemError;
+import com.nuvixtech.courses.dto.CatalogFormat;
+import com.nuvixtech.courses.dto.CourseRequest;
+import com.nuvixtech.courses.dto.ImportResponse;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.exception.InvalidImportException;
+import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.util.Csv;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Streams a CSV or NDJSON upload into PostgreSQL with {@code COPY FROM STDIN}.
+ * Each row is validated against the {@link CourseRequest} constraints; valid
+ * rows are copied into a temporary staging table and then merged into
+ * {@code courses} by {@code code} in a single statement, so re-importing a
+ * catalog updates existing courses instead of failing on the unique key.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseImportService {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("code", "name", "duration", "type", "price");
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE course_import (
+                line bigint NOT NULL,
+                code varchar(20) NOT NULL,
+                name varchar(255) NOT NULL,
+                description text,
+                duration integer NOT NULL,
+                type varchar(20) NOT NULL,
+                price numeric(10, 2) NOT NULL
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGING =
+            "COPY course_import (line, code, name, description, duration, type, price) FROM STDIN WITH (FORMAT csv)";
+
+    // The last row for a given code wins; xmax = 0 tells inserted rows from updated ones
+    private static final String MERGE = """
+            WITH merged AS (
+                INSERT INTO courses (code, name, description, duration, type, price)
+                SELECT DISTINCT ON (code) code, name, description, duration, type, price
+                FROM course_import
+                ORDER BY code, line DESC
+                ON CONFLICT (code) DO UPDATE SET
+                    name = EXCLUDED.name,
+                    description = EXCLUDED.description,
+                    duration = EXCLUDED.duration,
+                    type = EXCLUDED.type,
+                    price = EXCLUDED.price,
+                    version = courses.version + 1
+                RETURNING (xmax = 0) AS inserted
+            )
+            SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted) FROM merged""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CourseRequestValidator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.courses.import.max-reported-errors:100}")
+    private int maxReportedErrors = 100;
+
+    @Transactional
+    public ImportResponse importCourses(CatalogFormat format, InputStream body) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        Progress progress = new Progress();
+
+        jdbcTemplate.execute(CREATE_STAGING);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+            try {
+                OutputStream copy = new PGCopyOutputStream(copyIn, 64 * 1024);
+                if (format == CatalogFormat.CSV) {
+                    copyCsv(reader, copy, progress);
+                } else {
+                    copyNdjson(reader, copy, progress);
+                }
+                copy.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+            return null;
+        });
+
+        long inserted = 0;
+        long updated = 0;
+        if (progress.accepted > 0) {
+            long[] counts = jdbcTemplate.queryForObject(MERGE, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+            inserted = counts[0];
+            updated = counts[1];
+            eventPublisher.publishEvent(CourseChangedEvent.bulk());
+        }
+
+        return ImportResponse.builder()
+                .received(progress.received)
+                .accepted(progress.accepted)
+                .rejected(progress.rejected)
+                .inserted(inserted)
+                .updated(updated)
+                .errors(progress.errors)
+                .errorsTruncated(progress.rejected > progress.errors.size())
+                .build();
+    }
+
+    private void copyCsv(BufferedReader reader, OutputStream copy, Progress progress) throws IOException {
+        List<String> header = Csv.readRecord(reader);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new InvalidImportException("CSV header is missing column: " + column);
+            }
+        }
+
+        List<String> record;
+        while ((record = Csv.readRecord(reader)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            Map<String, String> errors = new LinkedHashMap<>();
+            CourseRequest request = new CourseRequest();
+            request.setCode(field(record, columns, "code"));
+            request.setName(field(record, columns, "name"));
+            request.setDescription(field(record, columns, "description"));
+            request.setDuration(parse(field(record, columns, "duration"), "duration", Integer::valueOf, errors));
+            request.setType(parse(field(record, columns, "type"), "type", CourseType::valueOf, errors));
+            request.setPrice(parse(field(record, columns, "price"), "price", BigDecimal::new, errors));
+            accept(request, errors, copy, progress);
+        }
+    }
+
+    private void copyNdjson(BufferedReader reader, OutputStream copy, Progress progress) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Map<String, String> errors = new LinkedHashMap<>();
+            CourseRequest request = null;
+            try {
+                request = objectMapper.readValue(line, CourseRequest.class);
+            } catch (JacksonException ex) {
+                errors.put("line", "JSON inválido");
+            }
+            accept(request, errors, copy, progress);
+        }
+    }
+
+    private void accept(CourseRequest request, Map<String, String> errors, OutputStream copy,
+                        Progress progress) throws IOException {
+        long index = progress.received++;
+        if (errors.isEmpty()) {
+            errors.putAll(validator.validate(request));
+        }
+        if (!errors.isEmpty()) {
+            progress.reject(index, errors, maxReportedErrors);
+            return;
+        }
+        String row = String.join(",",
+                Long.toString(index),
+                Csv.escape(request.getCode()),
+                Csv.escape(request.getName()),
+                Csv.escape(request.getDescription()),
+                Csv.escape(request.getDuration()),
+                Csv.escape(request.getType()),
+                Csv.escape(request.getPrice().toPlainString())) + "\n";
+        copy.write(row.getBytes(StandardCharsets.UTF_8));
+        progress.accepted++;
+    }
+
+    private String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private <T> T parse(String value, String field, Function<String, T> parser,
+                        Map<String, String> errors) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (IllegalArgumentException ex) {
+            errors.put(field, "Valor inválido: " + value);
+            return null;
+        }
+    }
+
+    private static final class Progress {
+        private long received;
+        private long accepted;
+        private long rejected;
+        private final List<BatchItemError> errors = new ArrayList<>();
+
+        private void reject(long index, Map<String, String> fieldErrors, int maxReported) {
+            rejected++;
+            if (errors.size() < maxReported) {
+                errors.add(BatchItemError.builder()
+                        .index((int) index)
+                        .errors(fieldErrors)
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.model.CourseType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON of {@code GET /api/courses/{id}} and listing pages, kept
+ * as UTF-8 bytes with a strong ETag, so repeated reads skip the query,
+ * {@code toResponse} and Jackson, and a matching {@code If-None-Match} is a
+ * 304 without touching the database.
+ * <p>
+ * A course's ETag is its id and {@code version}, the same on every node; a
+ * page's is the MD5 of its bytes. Entries live until a committed change
+ * (local or relayed by {@link CourseChangeChannel}) drops the course and
+ * every page, or for {@code app.courses.json-cache.ttl} at most; a load that
+ * races with a change is not kept. The listener runs after every other one
+ * ({@link #ORDER}), so a reload after it sees the catalog, counts and
+ * Hibernate caches already updated.
+ */
+@Component
+public class CourseJsonCache {
+
+    /** Order of the change listener: after the listeners of the state the JSON is built from. */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Stored> courses = new ConcurrentHashMap<>();
+    private final Map<PageKey, Stored> pages = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final MeterRegistry registry;
+
+    @Value("${app.courses.json-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.courses.json-cache.max-courses:10000}")
+    private int maxCourses = 10_000;
+
+    @Value("${app.courses.json-cache.max-pages:1000}")
+    private int maxPages = 1000;
+
+    @Value("${app.courses.json-cache.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${app.courses.json-cache.ttl:5m}")
+    private Duration ttl = Duration.ofMinutes(5);
+
+    public record CachedJson(byte[] body, String etag) {
+
+        /** Weak comparison, as {@code If-None-Match} requires: {@code W/} prefixes are ignored. */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.strip();
+                if (candidate.equals("*") || candidate.replaceFirst("^W/", "").equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // expiresAt is a System.nanoTime() deadline
+    private record Stored(CachedJson json, long expiresAt) {
+
+        CachedJson freshJson() {
+            return System.nanoTime() - expiresAt < 0 ? json : null;
+        }
+    }
+
+    private record PageKey(CourseType type, String name, Pageable pageable, TotalType total) {
+    }
+
+    public CourseJsonCache(ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.registry = meterRegistry.getIfAvailable();
+    }
+
+    public CachedJson course(Long id, Supplier<CourseResponse> loader) {
+        CachedJson cached = enabled ? fresh(courses.get(id)) : null;
+        count("course", cached);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        CourseResponse course = loader.get();
+        CachedJson json = new CachedJson(objectMapper.writeValueAsBytes(course),
+                "\"" + course.getId() + "-" + course.getVersion() + "\"");
+        store(courses, id, json, seen, maxCourses);
+        return json;
+    }
+
+    /** A listing page with full course responses; pages over {@code max-page-size} are not kept. */
+    public CachedJson page(CourseType type, String name, Pageable pageable, TotalType total,
+                           Supplier<PagedResponse<?>> loader) {
+        PageKey key = new PageKey(type, name, pageable, total);
+        boolean cacheable = enabled && pageable.getPageSize() <= maxPageSize;
+        CachedJson cached = cacheable ? fresh(pages.get(key)) : null;
+        count("page", cached);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        byte[] body = objectMapper.writeValueAsBytes(loader.get());
+        CachedJson json = new CachedJson(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        if (cacheable) {
+            store(pages, key, json, seen, maxPages);
+        }
+        return json;
+    }
+
+    // A change after the load started may not be in the bytes: drop them. The listener bumps the
+    // generation before clearing, so either it removes this entry or this check sees the new generation
+    private <K> void store(Map<K, Stored> cache, K key, CachedJson json, long seen, int maxEntries) {
+        if (cache.size() >= maxEntries) {
+            cache.clear();
+        }
+        Stored stored = new Stored(json, System.nanoTime() + ttl.toNanos());
+        cache.put(key, stored);
+        if (generation.get() != seen) {
+            cache.remove(key, stored);
+        }
+    }
+
+    private static CachedJson fresh(Stored stored) {
+        return stored != null ? stored.freshJson() : null;
+    }
+
+    @Order(ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.id() != null) {
+            courses.remove(event.id());
+        } else {
+            courses.clear();
+        }
+        pages.clear();
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        courses.clear();
+        pages.clear();
+    }
+
+    private void count(String kind, CachedJson cached) {
+        if (registry != null) {
+            Counter.builder("courses.json.cache")
+                    .description("Course JSON served from cached bytes (hit) or serialized again (miss)")
+                    .tag("kind", kind)
+                    .tag("result", cached != null ? "hit" : "miss")
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
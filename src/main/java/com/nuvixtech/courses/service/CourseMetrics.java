@@ -0,0 +1,92 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.model.CourseType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * {@code courses.service} timer around {@link CourseService} operations,
+ * tagged with the branch a read took, so a slow search can be told apart
+ * from a slow type filter or plain listing. Sits between
+ * {@code http.server.requests} (adds web binding and JSON serialization)
+ * and {@code spring.data.repository.invocations} (the queries alone).
+ * <p>
+ * Page sizes are tagged by bucket rather than value to keep the number of
+ * series bounded. {@code source} tells listings answered by the in-memory
+ * {@link CourseCatalog} from those that went to the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseMetrics {
+
+    static final String TIMER = "courses.service";
+    static final String NONE = "none";
+    static final String DATABASE = "database";
+    static final String CATALOG = "catalog";
+
+    private static final int[] SIZE_BUCKETS = {1, 10, 20, 50, 100, 1000};
+
+    private final MeterRegistry meterRegistry;
+
+    /** Query branch of a filtered read: {@code search}, {@code type} or {@code all}. */
+    static String branch(CourseType type, String text) {
+        if (text != null) {
+            return "search";
+        }
+        return type != null ? "type" : "all";
+    }
+
+    static String sizeBucket(int size) {
+        for (int bucket : SIZE_BUCKETS) {
+            if (size <= bucket) {
+                return String.valueOf(bucket);
+            }
+        }
+        return "+Inf";
+    }
+
+    <T> T read(String method, String query, boolean sparse, int size, Supplier<T> operation) {
+        return read(method, query, DATABASE, sparse, size, operation);
+    }
+
+    <T> T read(String method, String query, String source, boolean sparse, int size, Supplier<T> operation) {
+        return time(method, query, source, sparse ? "fields" : "dto", sizeBucket(size), operation);
+    }
+
+    <T> T write(String method, Supplier<T> operation) {
+        return time(method, NONE, DATABASE, NONE, NONE, operation);
+    }
+
+    void write(String method, Runnable operation) {
+        time(method, NONE, DATABASE, NONE, NONE, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private <T> T time(String method, String query, String source, String projection, String size,
+                       Supplier<T> operation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return operation.get();
+        } catch (RuntimeException ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(TIMER)
+                    .description("Course service operations by query branch and page size")
+                    .tag("method", method)
+                    .tag("query", query)
+                    .tag("source", source)
+                    .tag("projection", projection)
+                    .tag("size", size)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
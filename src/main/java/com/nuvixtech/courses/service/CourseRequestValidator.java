@@ -0,0 +1,34 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Programmatic {@link CourseRequest} validation for bulk paths, where errors
+ * are reported per item instead of rejecting the whole request. Produces
+ * the same field → message map as {@code GlobalExceptionHandler}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseRequestValidator {
+
+    private final Validator validator;
+
+    public Map<String, String> validate(CourseRequest request) {
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        if (request == null) {
+            fieldErrors.put("item", "El elemento es obligatorio");
+            return fieldErrors;
+        }
+        for (ConstraintViolation<CourseRequest> violation : validator.validate(request)) {
+            fieldErrors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return fieldErrors;
+    }
+}
@@ -1,81 +1,417 @@
 package com.nuvixtech.courses.service;
 
+import com.nuvixtech.courses.config.Coalesced;
+import com.nuvixtech.courses.dto.CourseField;
+import com.nuvixtech.courses.dto.CourseLookupResponse;
+import com.nuvixtech.courses.dto.CoursePatchRequest;
 import com.nuvixtech.courses.dto.CourseRequest;
 import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.CourseSuggestion;
+import com.nuvixtech.courses.dto.CursorResponse;
 import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.dto.UpsertedCourse;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.exception.BatchTooLargeException;
 import com.nuvixtech.courses.exception.CourseNotFoundException;
+import com.nuvixtech.courses.exception.CourseValidationException;
+import com.nuvixtech.courses.exception.InvalidCursorException;
+import com.nuvixtech.courses.exception.InvalidFieldsException;
 import com.nuvixtech.courses.model.Course;
 import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseQueryRepository;
 import com.nuvixtech.courses.repository.CourseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final CourseCountProvider countProvider;
+    private final CourseMetrics metrics;
+    private final CourseRequestValidator validator;
+    private final CourseIdFilter idFilter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    static final int MAX_SUGGESTIONS = 20;
+
+    @Value("${app.courses.lookup.max-keys:1000}")
+    private int maxLookupKeys = 1000;
 
+    @Coalesced
     @Transactional(readOnly = true)
     public PagedResponse<CourseResponse> findAll(CourseType type, String name, Pageable pageable) {
-        Page<Course> page;
+        return findAll(type, name, pageable, TotalType.EXACT);
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PagedResponse<CourseResponse> findAll(CourseType type, String name, Pageable pageable, TotalType total) {
+        String text = name != null && !name.isBlank() ? name : null;
+        return metrics.read("findAll", CourseMetrics.branch(type, text), false, pageable.getPageSize(),
+                () -> findPage(type, text, text == null ? withoutRelevance(pageable) : pageable, total));
+    }
+
+    private PagedResponse<CourseResponse> findPage(CourseType type, String text, Pageable pageable, TotalType total) {
+        if (total != TotalType.EXACT) {
+            return findSlice(type, text, pageable, total);
+        }
 
-        if (type != null && name != null && !name.isBlank()) {
-            page = courseRepository.findByTypeAndNameContainingIgnoreCase(type, name, pageable);
+        Page<CourseResponse> page;
+
+        if (text != null) {
+            page = courseRepository.search(type, text, pageable);
         } else if (type != null) {
-            page = courseRepository.findByType(type, pageable);
-        } else if (name != null && !name.isBlank()) {
-            page = courseRepository.findByNameContainingIgnoreCase(name, pageable);
+            page = courseRepository.findResponsePageByType(type, pageable);
         } else {
-            page = courseRepository.findAll(pageable);
+            page = courseRepository.findResponsePage(pageable);
+        }
+
+        return PagedResponse.from(page);
+    }
+
+    private PagedResponse<CourseResponse> findSlice(CourseType type, String text, Pageable pageable, TotalType total) {
+        Slice<CourseResponse> slice;
+
+        if (text != null) {
+            slice = courseRepository.searchSlice(type, text, pageable);
+        } else if (type != null) {
+            slice = courseRepository.findResponseSliceByType(type, pageable);
+        } else {
+            slice = courseRepository.findResponseSlice(pageable);
+        }
+
+        return withTotal(slice, type, text, total);
+    }
+
+    /**
+     * Sparse-fieldset listing: only the requested columns are read, and each
+     * row carries only those properties.
+     */
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PagedResponse<Map<String, Object>> findAll(CourseType type, String name, Pageable pageable,
+                                                      TotalType total, Set<CourseField> fields) {
+        String text = name != null && !name.isBlank() ? name : null;
+        Pageable request = text == null ? withoutRelevance(pageable) : pageable;
+        return metrics.read("findAll", CourseMetrics.branch(type, text), true, pageable.getPageSize(), () -> {
+            if (total == TotalType.EXACT) {
+                return PagedResponse.from(courseRepository.findFields(fields, type, text, request));
+            }
+            return withTotal(courseRepository.findFieldsSlice(fields, type, text, request), type, text, total);
+        });
+    }
+
+    private <T> PagedResponse<T> withTotal(Slice<T> slice, CourseType type, String text, TotalType total) {
+        if (total == TotalType.NONE) {
+            return PagedResponse.from(slice);
+        }
+        CourseCountProvider.Total count = countProvider.count(total, type, text);
+        return PagedResponse.from(slice, count.value(), count.type());
+    }
+
+    // Relevance only means something with a search text; plain listings fall back to id order
+    static Pageable withoutRelevance(Pageable pageable) {
+        if (pageable.getSort().getOrderFor(CourseQueryRepository.RELEVANCE) == null) {
+            return pageable;
         }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorResponse<CourseResponse> scroll(CourseType type, String name, String sort, String after, int size) {
+        CourseCursor cursor = checkScroll(sort, after, size);
+        String nameFilter = name != null && !name.isBlank() ? name : null;
 
-        return PagedResponse.from(page.map(this::toResponse));
+        return metrics.read("scroll", CourseMetrics.branch(type, nameFilter), false, size, () -> {
+            List<CourseResponse> rows = courseRepository.findAfter(type, nameFilter, sort,
+                    cursor != null ? cursor.value() : null,
+                    cursor != null ? cursor.id() : null,
+                    size + 1);
+            return toCursorResponse(rows, size, last -> CourseCursor.of(sort, last));
+        });
     }
 
+    /**
+     * Sparse-fieldset keyset page. The sort field is always selected, since
+     * the next cursor is built from it.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<Map<String, Object>> scroll(CourseType type, String name, String sort, String after,
+                                                      int size, Set<CourseField> fields) {
+        CourseCursor cursor = checkScroll(sort, after, size);
+        String nameFilter = name != null && !name.isBlank() ? name : null;
+        Set<CourseField> selected = EnumSet.copyOf(fields);
+        selected.add(CourseField.fromProperty(sort));
+
+        return metrics.read("scroll", CourseMetrics.branch(type, nameFilter), true, size, () -> {
+            List<Map<String, Object>> rows = courseRepository.findFieldsAfter(selected, type, nameFilter, sort,
+                    cursor != null ? cursor.value() : null,
+                    cursor != null ? cursor.id() : null,
+                    size + 1);
+            return toCursorResponse(rows, size, last -> CourseCursor.of(sort, last));
+        });
+    }
+
+    private CourseCursor checkScroll(String sort, String after, int size) {
+        if (!CourseCursor.isSortable(sort)) {
+            throw new InvalidCursorException("Unsupported sort field for cursor pagination: " + sort);
+        }
+        if (size < 1) {
+            throw new InvalidCursorException("Page size must be greater than zero");
+        }
+        return after != null && !after.isBlank() ? CourseCursor.decode(after, sort) : null;
+    }
+
+    private <T> CursorResponse<T> toCursorResponse(List<T> rows, int size, Function<T, CourseCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+
+        return CursorResponse.<T>builder()
+                .content(content)
+                .size(size)
+                .nextCursor(hasNext ? cursorOf.apply(content.get(size - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    @Coalesced
     @Transactional(readOnly = true)
     public CourseResponse findById(Long id) {
-        return courseRepository.findById(id)
-                .map(this::toResponse)
-                .orElseThrow(() -> new CourseNotFoundException(id));
+        return metrics.read("findById", "id", false, 1, () -> {
+            requireNotAbsent(id);
+            return courseRepository.findResponseById(id).orElseThrow(() -> new CourseNotFoundException(id));
+        });
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    public Map<String, Object> findById(Long id, Set<CourseField> fields) {
+        return metrics.read("findById", "id", true, 1, () -> {
+            requireNotAbsent(id);
+            return courseRepository.findFieldsById(fields, id).orElseThrow(() -> new CourseNotFoundException(id));
+        });
+    }
+
+    // Ids the filter knows are missing fail before any statement; the transaction never reaches the server
+    private void requireNotAbsent(Long id) {
+        if (idFilter.isAbsent(id)) {
+            throw new CourseNotFoundException(id);
+        }
+    }
+
+    /**
+     * Search-box suggestions until the in-memory suggestion index has
+     * loaded: the best matches of the regular text search, ranked by
+     * relevance.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseSuggestion> suggest(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int size = suggestionLimit(limit);
+        return metrics.read("suggest", "search", false, size, () -> courseRepository
+                .searchSlice(null, query, PageRequest.of(0, size, Sort.by(CourseQueryRepository.RELEVANCE)))
+                .map(CourseSuggestion::of)
+                .getContent());
+    }
+
+    static int suggestionLimit(int limit) {
+        return Math.clamp(limit, 1, MAX_SUGGESTIONS);
+    }
+
+    /**
+     * Resolves many courses in one query. Courses come back in request order
+     * (ids first, then codes), each once; ids and codes that match nothing
+     * are reported as missing instead of failing the request.
+     */
+    @Transactional(readOnly = true)
+    public CourseLookupResponse lookup(List<Long> ids, List<String> codes) {
+        Set<Long> wantedIds = distinct(ids);
+        Set<String> wantedCodes = distinct(codes);
+        int keys = wantedIds.size() + wantedCodes.size();
+        if (keys > maxLookupKeys) {
+            throw new BatchTooLargeException(keys, maxLookupKeys);
+        }
+
+        return metrics.read("lookup", "ids", false, keys, () -> {
+            List<CourseResponse> rows = keys == 0 ? List.of() : courseRepository.findByIdsOrCodes(wantedIds, wantedCodes);
+            Map<Long, CourseResponse> byId = new HashMap<>();
+            Map<String, CourseResponse> byCode = new HashMap<>();
+            for (CourseResponse row : rows) {
+                byId.put(row.getId(), row);
+                byCode.put(row.getCode(), row);
+            }
+
+            Map<Long, CourseResponse> found = new LinkedHashMap<>();
+            List<Long> missingIds = new ArrayList<>();
+            List<String> missingCodes = new ArrayList<>();
+            for (Long id : wantedIds) {
+                CourseResponse course = byId.get(id);
+                if (course != null) {
+                    found.putIfAbsent(id, course);
+                } else {
+                    missingIds.add(id);
+                }
+            }
+            for (String code : wantedCodes) {
+                CourseResponse course = byCode.get(code);
+                if (course != null) {
+                    found.putIfAbsent(course.getId(), course);
+                } else {
+                    missingCodes.add(code);
+                }
+            }
+
+            return CourseLookupResponse.builder()
+                    .courses(List.copyOf(found.values()))
+                    .missingIds(missingIds)
+                    .missingCodes(missingCodes)
+                    .build();
+        });
+    }
+
+    private static <T> Set<T> distinct(List<T> values) {
+        Set<T> distinct = new LinkedHashSet<>();
+        if (values != null) {
+            values.stream().filter(Objects::nonNull).forEach(distinct::add);
+        }
+        return distinct;
     }
 
     public CourseResponse create(CourseRequest request) {
-        Course course = Course.builder()
-                .code(request.getCode())
-                .name(request.getName())
-                .description(request.getDescription())
-                .duration(request.getDuration())
-                .type(request.getType())
-                .price(request.getPrice())
-                .build();
-        return toResponse(courseRepository.save(course));
+        return metrics.write("create", () -> {
+            Course course = Course.builder()
+                    .code(request.getCode())
+                    .name(request.getName())
+                    .description(request.getDescription())
+                    .duration(request.getDuration())
+                    .type(request.getType())
+                    .price(request.getPrice())
+                    .build();
+            Course saved = courseRepository.save(course);
+            eventPublisher.publishEvent(CourseChangedEvent.created(saved.getId()));
+            return toResponse(saved);
+        });
+    }
+
+    /**
+     * Creates the course with this code or replaces it, in one atomic
+     * statement; the code in the path wins over any code in the body.
+     */
+    public UpsertedCourse upsert(String code, CourseRequest request) {
+        request.setCode(code);
+        Map<String, String> errors = validator.validate(request);
+        if (!errors.isEmpty()) {
+            throw new CourseValidationException(errors);
+        }
+        return metrics.write("upsert", () -> {
+            UpsertedCourse upserted = courseRepository.upsertByCode(List.of(request)).getFirst();
+            Long id = upserted.course().getId();
+            eventPublisher.publishEvent(upserted.inserted()
+                    ? CourseChangedEvent.created(id)
+                    : CourseChangedEvent.updated(id));
+            return upserted;
+        });
     }
 
+    /**
+     * Full replacement in one {@code UPDATE ... RETURNING}: no load, no dirty
+     * checking, and the 404 comes from the affected-row count.
+     */
     public CourseResponse update(Long id, CourseRequest request) {
-        Course course = courseRepository.findById(id)
+        return metrics.write("update", () -> updateFields(id, fieldsOf(request)));
+    }
+
+    /** Sets only the properties present in {@code request}, in one statement like {@link #update}. */
+    public CourseResponse patch(Long id, CoursePatchRequest request) {
+        Map<CourseField, Object> values = fieldsOf(request);
+        if (values.isEmpty()) {
+            throw new InvalidFieldsException("Patch must set at least one course field");
+        }
+        return metrics.write("patch", () -> updateFields(id, values));
+    }
+
+    private CourseResponse updateFields(Long id, Map<CourseField, Object> values) {
+        requireNotAbsent(id);
+        CourseResponse updated = courseRepository.updateFields(id, values)
                 .orElseThrow(() -> new CourseNotFoundException(id));
+        eventPublisher.publishEvent(CourseChangedEvent.updated(id));
+        return updated;
+    }
+
+    public void delete(Long id) {
+        metrics.write("delete", () -> {
+            requireNotAbsent(id);
+            if (courseRepository.deleteCourse(id) == 0) {
+                throw new CourseNotFoundException(id);
+            }
+            eventPublisher.publishEvent(CourseChangedEvent.deleted(id));
+        });
+    }
+
+    static Map<CourseField, Object> fieldsOf(CourseRequest request) {
+        Map<CourseField, Object> values = new EnumMap<>(CourseField.class);
+        values.put(CourseField.CODE, request.getCode());
+        values.put(CourseField.NAME, request.getName());
+        values.put(CourseField.DESCRIPTION, request.getDescription());
+        values.put(CourseField.DURATION, request.getDuration());
+        values.put(CourseField.TYPE, request.getType());
+        values.put(CourseField.PRICE, request.getPrice());
+        return values;
+    }
+
+    static Map<CourseField, Object> fieldsOf(CoursePatchRequest request) {
+        Map<CourseField, Object> values = new EnumMap<>(CourseField.class);
+        putIfPresent(values, CourseField.CODE, request.getCode());
+        putIfPresent(values, CourseField.NAME, request.getName());
+        putIfPresent(values, CourseField.DESCRIPTION, request.getDescription());
+        putIfPresent(values, CourseField.DURATION, request.getDuration());
+        putIfPresent(values, CourseField.TYPE, request.getType());
+        putIfPresent(values, CourseField.PRICE, request.getPrice());
+        return values;
+    }
+
+    private static void putIfPresent(Map<CourseField, Object> values, CourseField field, Object value) {
+        if (value != null) {
+            values.put(field, value);
+        }
+    }
+
+    static void applyRequest(Course course, CourseRequest request) {
         course.setCode(request.getCode());
         course.setName(request.getName());
         course.setDescription(request.getDescription());
         course.setDuration(request.getDuration());
         course.setType(request.getType());
         course.setPrice(request.getPrice());
-        return toResponse(courseRepository.save(course));
-    }
-
-    public void delete(Long id) {
-        if (!courseRepository.existsById(id)) {
-            throw new CourseNotFoundException(id);
-        }
-        courseRepository.deleteById(id);
     }
 
-    private CourseResponse toResponse(Course course) {
+    static CourseResponse toResponse(Course course) {
         return CourseResponse.builder()
                 .id(course.getId())
                 .code(course.getCode())
@@ -84,6 +420,7 @@ public class CourseService {
                 .duration(course.getDuration())
                 .type(course.getType())
                 .price(course.getPrice())
+                .version(course.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,274 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseSuggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index behind {@code GET /api/courses/suggest}: the words
+ * of every course name and code, plus each whole code, in one array sorted
+ * by word and id, so the courses with a word starting with a prefix are a
+ * contiguous range found by binary search. Only ids, codes and names are
+ * kept.
+ * <p>
+ * {@link #with} and {@link #without} return a new index in one pass over
+ * the arrays: the course's old words are found and dropped, and its new
+ * ones placed, by binary search; nothing is re-sorted or re-tokenized.
+ */
+final class SuggestionIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Suggestion ranks, best first
+    private static final int EXACT_CODE = 0;
+    private static final int CODE_PREFIX = 1;
+    private static final int NAME_PREFIX = 2;
+    private static final int WORD_PREFIX = 3;
+
+    private static final Comparator<Entry> BY_ID = Comparator.comparing(entry -> entry.suggestion().getId());
+
+    private final Entry[] entries;
+    // every word of every course, sorted by word then id, and the course each one belongs to
+    private final String[] prefixes;
+    private final Entry[] owners;
+
+    private record Entry(CourseSuggestion suggestion, String code, String name, String[] words) {
+
+        static Entry of(CourseSuggestion suggestion) {
+            String code = normalize(suggestion.getCode());
+            String name = normalize(suggestion.getName());
+            return new Entry(suggestion, code, name, wordsOf(code, name));
+        }
+
+        long id() {
+            return suggestion.getId();
+        }
+    }
+
+    private SuggestionIndex(Entry[] entries, String[] prefixes, Entry[] owners) {
+        this.entries = entries;
+        this.prefixes = prefixes;
+        this.owners = owners;
+    }
+
+    static SuggestionIndex of(Collection<CourseSuggestion> courses) {
+        Entry[] entries = courses.stream().map(Entry::of).sorted(BY_ID).toArray(Entry[]::new);
+        List<Integer> slots = new ArrayList<>();
+        List<String> words = new ArrayList<>();
+        List<Entry> owners = new ArrayList<>();
+        for (Entry entry : entries) {
+            for (String word : entry.words()) {
+                slots.add(slots.size());
+                words.add(word);
+                owners.add(entry);
+            }
+        }
+        slots.sort(Comparator.<Integer, String>comparing(words::get).thenComparingLong(slot -> owners.get(slot).id()));
+        String[] prefixes = new String[slots.size()];
+        Entry[] owned = new Entry[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            prefixes[i] = words.get(slots.get(i));
+            owned[i] = owners.get(slots.get(i));
+        }
+        return new SuggestionIndex(entries, prefixes, owned);
+    }
+
+    /** A new index with {@code course} added, or replacing the one with its id. */
+    SuggestionIndex with(CourseSuggestion course) {
+        Entry added = Entry.of(course);
+        int found = find(course.getId());
+        Entry[] next;
+        if (found >= 0) {
+            next = entries.clone();
+            next[found] = added;
+        } else {
+            int at = -found - 1;
+            next = new Entry[entries.length + 1];
+            System.arraycopy(entries, 0, next, 0, at);
+            next[at] = added;
+            System.arraycopy(entries, at, next, at + 1, entries.length - at);
+        }
+        return replace(next, found >= 0 ? entries[found] : null, added);
+    }
+
+    /** A new index without the course with this id. */
+    SuggestionIndex without(Long id) {
+        int found = find(id);
+        if (found < 0) {
+            return this;
+        }
+        Entry[] next = new Entry[entries.length - 1];
+        System.arraycopy(entries, 0, next, 0, found);
+        System.arraycopy(entries, found + 1, next, found, entries.length - found - 1);
+        return replace(next, entries[found], null);
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    // Slots of the old words go, the new words go in at their insertion points: one copy of the arrays
+    private SuggestionIndex replace(Entry[] nextEntries, Entry removed, Entry added) {
+        int[] drop = removed == null ? new int[0] : Arrays.stream(removed.words())
+                .mapToInt(word -> slot(word, removed.id()))
+                .sorted()
+                .toArray();
+        String[] words = added == null ? new String[0] : added.words().clone();
+        Arrays.sort(words);
+        int[] at = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            int slot = slot(words[i], added.id());
+            at[i] = slot >= 0 ? slot : -slot - 1;
+        }
+
+        int size = prefixes.length - drop.length + words.length;
+        String[] nextPrefixes = new String[size];
+        Entry[] nextOwners = new Entry[size];
+        int source = 0;
+        int target = 0;
+        int d = 0;
+        int a = 0;
+        while (source < prefixes.length || a < words.length) {
+            if (a < words.length && at[a] == source) {
+                nextPrefixes[target] = words[a++];
+                nextOwners[target++] = added;
+            } else if (d < drop.length && drop[d] == source) {
+                d++;
+                source++;
+            } else {
+                nextPrefixes[target] = prefixes[source];
+                nextOwners[target++] = owners[source++];
+            }
+        }
+        return new SuggestionIndex(nextEntries, nextPrefixes, nextOwners);
+    }
+
+    /**
+     * Up to {@code limit} courses for a search box: every word of the query
+     * (case and accents ignored) must start a word of the course's name or
+     * code. Ranked by exact code, code prefix, name prefix, then any word,
+     * with shorter names first within a rank.
+     */
+    List<CourseSuggestion> suggest(String query, int limit) {
+        String needle = normalize(query).strip();
+        List<String> terms = Arrays.stream(WORD_SEPARATOR.split(needle)).filter(term -> !term.isEmpty()).toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String longest = terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+
+        Comparator<Suggestion> best = Comparator.comparingInt(Suggestion::rank)
+                .thenComparingInt(suggestion -> suggestion.entry().suggestion().getName().length())
+                .thenComparing(suggestion -> suggestion.entry().suggestion().getName())
+                .thenComparingLong(suggestion -> suggestion.entry().id());
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(limit + 1, best.reversed());
+        Set<Long> seen = new HashSet<>();
+        int first = slot(longest, Long.MIN_VALUE);
+        for (int i = first >= 0 ? first : -first - 1; i < prefixes.length && prefixes[i].startsWith(longest); i++) {
+            Entry entry = owners[i];
+            if (!seen.add(entry.id())) {
+                continue;
+            }
+            if (terms.stream().allMatch(term -> startsAWord(entry.words(), term))) {
+                top.add(new Suggestion(entry, rank(entry, needle)));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        return top.stream().sorted(best).map(suggestion -> suggestion.entry().suggestion()).toList();
+    }
+
+    private record Suggestion(Entry entry, int rank) {
+    }
+
+    private int find(Long id) {
+        int low = 0;
+        int high = entries.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Long.compare(entries[mid].id(), id);
+            if (cmp == 0) {
+                return mid;
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // Position of (word, id) in the prefix array, or -(insertion point) - 1
+    private int slot(String word, long id) {
+        int low = 0;
+        int high = prefixes.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = prefixes[mid].compareTo(word);
+            if (cmp == 0) {
+                cmp = Long.compare(owners[mid].id(), id);
+            }
+            if (cmp == 0) {
+                return mid;
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // Lower case without combining marks, which covers the accents of Spanish text
+    static String normalize(String value) {
+        return MARKS.matcher(Normalizer.normalize(value.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private static boolean startsAWord(String[] words, String term) {
+        for (String word : words) {
+            if (word.startsWith(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int rank(Entry entry, String needle) {
+        if (entry.code().equals(needle)) {
+            return EXACT_CODE;
+        }
+        if (entry.code().startsWith(needle)) {
+            return CODE_PREFIX;
+        }
+        return entry.name().startsWith(needle) ? NAME_PREFIX : WORD_PREFIX;
+    }
+
+    // Name and code words, plus the whole code so "java-1" completes "JAVA-101"
+    private static String[] wordsOf(String code, String name) {
+        Set<String> words = new LinkedHashSet<>();
+        words.add(code);
+        for (String text : List.of(name, code)) {
+            for (String word : WORD_SEPARATOR.split(text)) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words.toArray(String[]::new);
+    }
+}
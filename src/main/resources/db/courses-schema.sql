@@ -0,0 +1,45 @@
+-- Runs after Hibernate's ddl-auto (spring.jpa.defer-datasource-initialization)
+-- and must stay idempotent: it is executed on every startup.
+
+-- Accent- and case-insensitive search over name and description
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE; an IMMUTABLE wrapper with an explicit dictionary
+-- is required to use it in a generated column or index expression
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+ALTER TABLE courses ADD COLUMN IF NOT EXISTS search_text text
+    GENERATED ALWAYS AS (f_unaccent(lower(name || ' ' || coalesce(description, '')))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_courses_search_text_trgm ON courses USING gin (search_text gin_trgm_ops);
+
+-- Course ids come from courses_id_seq with Hibernate's pooled optimizer
+-- (allocationSize = 50), so the sequence must advance by 50 and stay the
+-- column default for plain SQL inserts. Tables created while the id was an
+-- IDENTITY column are converted once, keeping ids above the current maximum.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'courses' AND column_name = 'id' AND is_identity = 'YES') THEN
+        ALTER TABLE courses ALTER COLUMN id DROP IDENTITY;
+        CREATE SEQUENCE courses_id_seq;
+        PERFORM setval('courses_id_seq', (SELECT greatest(coalesce(max(id), 0), 1) FROM courses));
+    END IF;
+    ALTER SEQUENCE courses_id_seq INCREMENT BY 50 OWNED BY courses.id;
+    ALTER TABLE courses ALTER COLUMN id SET DEFAULT nextval('courses_id_seq');
+END $$;
+
+-- Course.version (@Version) is added by ddl-auto as a nullable column; rows
+-- inserted before it, and plain SQL inserts, start at 0. Converted once.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'courses' AND column_name = 'version' AND is_nullable = 'YES') THEN
+        UPDATE courses SET version = 0 WHERE version IS NULL;
+        ALTER TABLE courses ALTER COLUMN version SET DEFAULT 0;
+        ALTER TABLE courses ALTER COLUMN version SET NOT NULL;
+    END IF;
+END $$;
@@ -0,0 +1,64 @@
+package com.nuvixtech.courses.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.datasource.pool.maximum-pool-size=3",
+        "app.datasource.pool.minimum-idle=2",
+        "app.datasource.pool.prefill=true",
+        "app.datasource.pool.leak-detection-threshold=20s",
+        "app.datasource.pool.prepare-threshold=0",
+        "app.datasource.pool.data-source-properties.tcpKeepAlive=true"
+})
+class DataSourceConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldApplyPoolProperties() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+
+        assertThat(pool.getPoolName()).isEqualTo("primary");
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(pool.getMinimumIdle()).isEqualTo(2);
+        assertThat(pool.getLeakDetectionThreshold()).isEqualTo(20_000);
+        assertThat(pool.getDataSourceProperties())
+                .containsEntry("prepareThreshold", 0)
+                .containsEntry("preparedStatementCacheQueries", 256)
+                .containsEntry("tcpKeepAlive", "true")
+                .containsEntry("reWriteBatchedInserts", "true");
+    }
+
+    @Test
+    void shouldPassPgjdbcSettingsToConnections() {
+        assertThat(jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class))
+                .isEqualTo("courses-api-primary");
+    }
+
+    @Test
+    void shouldPrefillPoolAndPublishMetrics() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+
+        assertThat(pool.getHikariPoolMXBean().getTotalConnections()).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get("hikaricp.connections.active").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections.pending").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "primary").timer().count())
+                .isPositive();
+    }
+}
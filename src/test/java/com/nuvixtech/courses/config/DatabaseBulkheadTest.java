@@ -0,0 +1,127 @@
+package com.nuvixtech.courses.config;
+
+import com.nuvixtech.courses.exception.ServiceOverloadedException;
+import com.nuvixtech.courses.service.CourseService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+class DatabaseBulkheadTest {
+
+    private DatabaseBulkhead bulkhead(int permits) {
+        return bulkhead(permits, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DatabaseBulkhead bulkhead(int permits, DataSource dataSource) {
+        PoolProperties pool = new PoolProperties();
+        pool.setMaximumPoolSize(permits);
+        ObjectProvider<DataSource> dataSources = mock(ObjectProvider.class);
+        given(dataSources.getIfAvailable()).willReturn(dataSource);
+        return new DatabaseBulkhead(pool, dataSources, 0, Duration.ofMillis(50), Duration.ofSeconds(2),
+                mock(ObjectProvider.class));
+    }
+
+    // CourseService.method(Long) that records the free primary and replica permits while it runs
+    private ProceedingJoinPoint serviceCall(DatabaseBulkhead bulkhead, String method, int[] seen) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        given(signature.getMethod()).willReturn(CourseService.class.getMethod(method, Long.class));
+        ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+        given(call.getSignature()).willReturn(signature);
+        given(call.getTarget()).willReturn(mock(CourseService.class));
+        given(call.proceed()).willAnswer(invocation -> {
+            seen[0] = bulkhead.availablePermits();
+            seen[1] = bulkhead.availableReplicaPermits();
+            return method;
+        });
+        return call;
+    }
+
+    @Test
+    void shouldSizePermitsToThePool() {
+        assertThat(bulkhead(4).availablePermits()).isEqualTo(4);
+        assertThat(bulkhead(4).availableReplicaPermits()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldGiveReadOnlyCallsReplicaPermitsWhileReadsGoToTheReplica() throws Throwable {
+        ReplicaRoutingDataSource routing = mock(ReplicaRoutingDataSource.class);
+        given(routing.isRoutingToReplica()).willReturn(true);
+        DatabaseBulkhead bulkhead = bulkhead(4, routing);
+        int[] seen = new int[2];
+        assertThat(bulkhead.availableReplicaPermits()).isEqualTo(4);
+
+        bulkhead.guard(serviceCall(bulkhead, "findById", seen));
+        assertThat(seen).containsExactly(4, 3);
+
+        bulkhead.guard(serviceCall(bulkhead, "delete", seen));
+        assertThat(seen).containsExactly(3, 4);
+
+        given(routing.isRoutingToReplica()).willReturn(false);
+        bulkhead.guard(serviceCall(bulkhead, "findById", seen));
+        assertThat(seen).containsExactly(3, 4);
+
+        assertThat(bulkhead.availablePermits()).isEqualTo(4);
+        assertThat(bulkhead.availableReplicaPermits()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldShedCallsWhenNoPermitFreesUpInTime() throws Throwable {
+        DatabaseBulkhead bulkhead = bulkhead(1);
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slow = mock(ProceedingJoinPoint.class);
+        given(slow.proceed()).willAnswer(invocation -> {
+            inside.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "slow";
+        });
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                bulkhead.guard(slow);
+            } catch (Throwable ignored) {
+                // not under test
+            }
+        });
+        inside.await(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> bulkhead.guard(mock(ProceedingJoinPoint.class)))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .extracting("retryAfter").isEqualTo(Duration.ofSeconds(2));
+
+        release.countDown();
+        holder.join();
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLetNestedCallsReuseTheOuterPermit() throws Throwable {
+        DatabaseBulkhead bulkhead = bulkhead(1);
+        ProceedingJoinPoint inner = mock(ProceedingJoinPoint.class);
+        given(inner.proceed()).willReturn("inner");
+        ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+        given(outer.proceed()).willAnswer(invocation -> bulkhead.guard(inner));
+
+        assertThat(bulkhead.guard(outer)).isEqualTo("inner");
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleasePermitWhenCallFails() throws Throwable {
+        DatabaseBulkhead bulkhead = bulkhead(1);
+        ProceedingJoinPoint failing = mock(ProceedingJoinPoint.class);
+        given(failing.proceed()).willThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> bulkhead.guard(failing)).isInstanceOf(IllegalStateException.class);
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.nuvixtech.courses.config;
+
+import com.nuvixtech.courses.service.CourseCacheEvictor;
+import com.nuvixtech.courses.service.CourseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Sql("/test-courses.sql")
+class HibernateStatisticsEndpointTest {
+
+    @Autowired
+    private HibernateStatisticsEndpoint endpoint;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseCacheEvictor cacheEvictor;
+
+    @BeforeEach
+    void setUp() {
+        cacheEvictor.evictAll();
+        endpoint.reset();
+    }
+
+    @Test
+    void shouldReportPerQueryExecutionsAndCacheActivity() {
+        courseService.findAll(null, null, PageRequest.of(0, 5));
+        courseService.findAll(null, null, PageRequest.of(0, 5));
+
+        HibernateStatisticsEndpoint.Summary summary = endpoint.statistics(null);
+
+        assertThat(summary.enabled()).isTrue();
+        assertThat(summary.sessions().opened()).isPositive();
+        assertThat(summary.queries().executions()).isPositive();
+        assertThat(summary.queries().cacheHits()).isPositive();
+        assertThat(summary.secondLevelCache().regions()).containsKey(CacheConfig.COURSE_REGION);
+        assertThat(summary.queryStatistics())
+                .anySatisfy(query -> {
+                    assertThat(query.query()).contains("CourseResponse");
+                    assertThat(query.executions() + query.cacheHits()).isGreaterThanOrEqualTo(2);
+                });
+    }
+
+    @Test
+    void shouldLimitAndResetQueryStatistics() {
+        courseService.findAll(null, null, PageRequest.of(0, 5));
+        courseService.findAll(null, "java", PageRequest.of(0, 5));
+
+        assertThat(endpoint.statistics(1).queryStatistics()).hasSize(1);
+
+        endpoint.reset();
+
+        assertThat(endpoint.statistics(null).queryStatistics()).isEmpty();
+    }
+}
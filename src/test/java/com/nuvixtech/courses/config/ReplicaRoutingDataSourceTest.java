@@ -0,0 +1,138 @@
+package com.nuvixtech.courses.config;
+
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * The replica is the same database under a second pool; the pools tell
+ * themselves apart through their {@code application_name}. The change relay
+ * is off so its connect-time bulk change does not pin reads to the primary.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.datasource.replica.url=${spring.datasource.url}",
+        "app.datasource.replica.read-your-writes=500ms",
+        "app.courses.notify.enabled=false"
+})
+class ReplicaRoutingDataSourceTest {
+
+    private static final String APPLICATION_NAME = "SELECT current_setting('application_name')";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private String applicationName(boolean readOnly) {
+        return applicationName(transactionManager, jdbcTemplate, readOnly);
+    }
+
+    private static String applicationName(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate,
+                                          boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+    }
+
+    // ── Routing Tests ──────────────────────────────────────────────
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertThat(dataSource).isInstanceOf(ReplicaRoutingDataSource.class);
+
+        assertThat(applicationName(true)).isEqualTo("courses-api-replica");
+        assertThat(applicationName(false)).isEqualTo("courses-api-primary");
+    }
+
+    @Test
+    void shouldReadFromPrimaryForAWhileAfterChange() throws Exception {
+        eventPublisher.publishEvent(CourseChangedEvent.updated(1L));
+
+        assertThat(applicationName(true)).isEqualTo("courses-api-primary");
+
+        Thread.sleep(600);
+        assertThat(applicationName(true)).isEqualTo("courses-api-replica");
+    }
+
+    @Test
+    void shouldPublishPerPoolMetrics() {
+        applicationName(true);
+        applicationName(false);
+
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge()).isNotNull();
+        assertThat(meterRegistry.get("courses.datasource.replica.available").gauge().value()).isEqualTo(1);
+    }
+
+    // ── Fallback Tests ─────────────────────────────────────────────
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLagsOrFails() throws Exception {
+        HikariDataSource primary = dataSource.unwrap(HikariDataSource.class);
+        ReplicaRoutingDataSource routing = spy(new ReplicaRoutingDataSource(
+                primary, mock(HikariDataSource.class), Duration.ofSeconds(5), Duration.ofHours(1), Duration.ZERO));
+
+        willReturn(2.0).given(routing).replicationLag();
+        routing.checkReplica();
+        assertThat(routing.isReplicaAvailable()).isTrue();
+
+        willReturn(30.0).given(routing).replicationLag();
+        routing.checkReplica();
+        assertThat(routing.isReplicaAvailable()).isFalse();
+        assertThat(routing.getReplicaLagSeconds()).isEqualTo(30.0);
+
+        willThrow(new IllegalStateException("down")).given(routing).replicationLag();
+        routing.checkReplica();
+        assertThat(routing.isReplicaAvailable()).isFalse();
+        assertThat(routing.getReplicaLagSeconds()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldStartWithUnreachableReplicaAndReadFromPrimary() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        DataSourceConfig config = new DataSourceConfig();
+        ReflectionTestUtils.setField(config, "rawUrl", pool.getJdbcUrl());
+        ReflectionTestUtils.setField(config, "username", pool.getUsername());
+        ReflectionTestUtils.setField(config, "password", pool.getPassword());
+        ReflectionTestUtils.setField(config, "replicaUrl", "jdbc:postgresql://localhost:1/courses");
+        ReflectionTestUtils.setField(config, "replicaUsername", "");
+        ReflectionTestUtils.setField(config, "replicaPassword", "");
+        PoolProperties properties = new PoolProperties();
+        properties.setMaximumPoolSize(1);
+        properties.setConnectionTimeout(Duration.ofMillis(500));
+        properties.setPrefill(true);
+
+        try (ReplicaRoutingDataSource routing = (ReplicaRoutingDataSource) config.dataSource(properties,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class))) {
+            assertThat(routing.isReplicaAvailable()).isFalse();
+            assertThat(applicationName(new DataSourceTransactionManager(routing), new JdbcTemplate(routing), true))
+                    .isEqualTo("courses-api-primary");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.nuvixtech.courses.config;
+
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.exception.CourseNotFoundException;
+import com.nuvixtech.courses.exception.ServiceOverloadedException;
+import com.nuvixtech.courses.service.CourseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private final RequestCoalescer coalescer = new RequestCoalescer(mock(ObjectProvider.class, invocation ->
+            invocation.getMethod().getName().equals("getIfAvailable") ? meterRegistry : null));
+
+    private final CountDownLatch inside = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    // findById(id) that blocks until released, counting how often it really runs
+    private ProceedingJoinPoint findById(Long id) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        given(signature.getMethod()).willReturn(CourseService.class.getMethod("findById", Long.class));
+        ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+        given(call.getSignature()).willReturn(signature);
+        given(call.getArgs()).willReturn(new Object[]{id});
+        given(call.proceed()).willAnswer(invocation -> {
+            int run = executions.incrementAndGet();
+            inside.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            if (id < 0) {
+                throw new CourseNotFoundException(id);
+            }
+            return "course " + id + " #" + run;
+        });
+        return call;
+    }
+
+    private CompletableFuture<Object> callAsync(ProceedingJoinPoint call) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                result.complete(coalescer.coalesce(call));
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    private double calls(String role) {
+        return meterRegistry.get("courses.coalescing.calls").tag("method", "findById").tag("role", role)
+                .counter().count();
+    }
+
+    private static void awaitFollower(MeterRegistry registry) throws InterruptedException {
+        for (int i = 0; i < 500 && registry.find("courses.coalescing.calls").tag("role", "follower").counter() == null;
+             i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void shouldShareOneRunningCallBetweenIdenticalCalls() throws Throwable {
+        CompletableFuture<Object> leader = callAsync(findById(1L));
+        inside.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Object> follower = callAsync(findById(1L));
+        awaitFollower(meterRegistry);
+
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("course 1 #1");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("course 1 #1");
+        assertThat(executions).hasValue(1);
+        assertThat(calls("leader")).isEqualTo(1);
+        assertThat(calls("follower")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRunCallsWithDifferentArgumentsSeparately() throws Throwable {
+        release.countDown();
+
+        assertThat(coalescer.coalesce(findById(1L))).isEqualTo("course 1 #1");
+        assertThat(coalescer.coalesce(findById(2L))).isEqualTo("course 2 #2");
+        assertThat(coalescer.coalesce(findById(1L))).isEqualTo("course 1 #3");
+    }
+
+    @Test
+    void shouldHandTheLeadersExceptionToFollowers() throws Throwable {
+        CompletableFuture<Object> leader = callAsync(findById(-1L));
+        inside.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Object> follower = callAsync(findById(-1L));
+        awaitFollower(meterRegistry);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CourseNotFoundException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CourseNotFoundException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void shouldShedFollowersThatOutwaitTheAcquireTimeout() throws Throwable {
+        ReflectionTestUtils.setField(coalescer, "maxWait", Duration.ofMillis(50));
+        CompletableFuture<Object> leader = callAsync(findById(1L));
+        inside.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Object> follower = callAsync(findById(1L));
+
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ServiceOverloadedException.class);
+        assertThat(calls("shed")).isEqualTo(1);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("course 1 #1");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void shouldNotJoinCallsStartedBeforeACommittedChange() throws Throwable {
+        CompletableFuture<Object> leader = callAsync(findById(1L));
+        inside.await(5, TimeUnit.SECONDS);
+
+        coalescer.onCourseChanged(CourseChangedEvent.updated(1L));
+        CompletableFuture<Object> after = callAsync(findById(1L));
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("course 1 #1");
+        assertThat(after.get(5, TimeUnit.SECONDS)).isNotEqualTo("course 1 #1");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCoalesceInsideATransaction() throws Throwable {
+        release.countDown();
+        ProceedingJoinPoint call = findById(1L);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            coalescer.coalesce(call);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        then(call).should(never()).getSignature();
+        assertThat(meterRegistry.find("courses.coalescing.calls").counter()).isNull();
+    }
+}
@@ -0,0 +1,83 @@
+package com.nuvixtech.courses.config;
+
+import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.service.CourseCacheEvictor;
+import com.nuvixtech.courses.service.CourseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "app.datasource.slow-query.threshold=0ms")
+@Sql("/test-courses.sql")
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLoggerTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseCacheEvictor cacheEvictor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheEvictor.evictAll();
+    }
+
+    @Test
+    void shouldLogSqlBindParametersAndCallingServiceMethod(CapturedOutput output) {
+        PagedResponse<?> result = courseService.findAll(null, "kotlin", PageRequest.of(0, 5));
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(output.getOut())
+                .contains("Slow query:")
+                .contains("on primary from CourseService.findAll")
+                .contains("search_text")
+                .contains("=%kotlin%");
+        assertThat(meterRegistry.get("courses.db.slow.queries").tag("pool", "primary").counter().count())
+                .isPositive();
+    }
+
+    @Test
+    void shouldCountButNotLogUnsampledSlowQueries(CapturedOutput output) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SlowQueryLogger logger = new SlowQueryLogger(Duration.ofMillis(100), 0.0, "test", registry);
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(250);
+
+        logger.afterQuery(execution, List.of(new QueryInfo("SELECT 'unsampled'")));
+
+        assertThat(registry.get("courses.db.slow.queries").counter().count()).isEqualTo(1);
+        assertThat(output.getOut()).doesNotContain("unsampled");
+    }
+
+    @Test
+    void shouldIgnoreStatementsUnderTheThreshold() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SlowQueryLogger logger = new SlowQueryLogger(Duration.ofMillis(100), 1.0, "test", registry);
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(99);
+
+        logger.afterQuery(execution, List.of(new QueryInfo("SELECT 1")));
+
+        assertThat(registry.get("courses.db.slow.queries").counter().count()).isZero();
+    }
+}
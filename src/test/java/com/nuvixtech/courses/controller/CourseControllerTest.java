@@ -1,22 +1,57 @@
 package com.nuvixtech.courses.controller;
 
 import tools.jackson.databind.ObjectMapper;
+import com.nuvixtech.courses.dto.BatchItemError;
+import com.nuvixtech.courses.dto.BatchResponse;
+import com.nuvixtech.courses.dto.CourseField;
+import com.nuvixtech.courses.dto.CourseLookupResponse;
+import com.nuvixtech.courses.dto.CoursePatchRequest;
 import com.nuvixtech.courses.dto.CourseRequest;
 import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.CourseSuggestion;
+import com.nuvixtech.courses.dto.CursorResponse;
+import com.nuvixtech.courses.dto.ImportResponse;
+import com.nuvixtech.courses.dto.CatalogFormat;
 import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.dto.UpsertResponse;
+import com.nuvixtech.courses.dto.UpsertedCourse;
+import com.nuvixtech.courses.event.CourseChangedEvent;
 import com.nuvixtech.courses.exception.CourseNotFoundException;
+import com.nuvixtech.courses.exception.CourseValidationException;
+import com.nuvixtech.courses.exception.InvalidCursorException;
+import com.nuvixtech.courses.exception.ServiceOverloadedException;
 import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.service.CourseBatchService;
+import com.nuvixtech.courses.service.CourseCatalog;
+import com.nuvixtech.courses.service.CourseExportService;
+import com.nuvixtech.courses.service.CourseImportService;
+import com.nuvixtech.courses.service.CourseJsonCache;
 import com.nuvixtech.courses.service.CourseService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
@@ -24,6 +59,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CourseController.class)
+@Import(CourseJsonCache.class)
 class CourseControllerTest {
 
     @Autowired
@@ -32,9 +68,29 @@ class CourseControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CourseJsonCache courseJsonCache;
+
     @MockitoBean
     private CourseService courseService;
 
+    @MockitoBean
+    private CourseBatchService courseBatchService;
+
+    @MockitoBean
+    private CourseCatalog courseCatalog;
+
+    @MockitoBean
+    private CourseExportService courseExportService;
+
+    @MockitoBean
+    private CourseImportService courseImportService;
+
+    @BeforeEach
+    void clearJsonCache() {
+        courseJsonCache.clear();
+    }
+
     private CourseResponse buildResponse(Long id) {
         return CourseResponse.builder()
                 .id(id)
@@ -44,6 +100,7 @@ class CourseControllerTest {
                 .duration(40)
                 .type(CourseType.PRESENCIAL)
                 .price(new BigDecimal("299.99"))
+                .version(3L)
                 .build();
     }
 
@@ -73,7 +130,7 @@ class CourseControllerTest {
 
     @Test
     void shouldReturn200WithAllCourses() throws Exception {
-        given(courseService.findAll(isNull(), isNull(), any(Pageable.class)))
+        given(courseService.findAll(isNull(), isNull(), any(Pageable.class), eq(TotalType.EXACT)))
                 .willReturn(buildPage(buildResponse(1L), buildResponse(2L)));
 
         mockMvc.perform(get("/api/courses"))
@@ -83,6 +140,17 @@ class CourseControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(2));
     }
 
+    @Test
+    void shouldServeListingFromCatalogWhenItCan() throws Exception {
+        given(courseCatalog.findAll(isNull(), isNull(), any(Pageable.class), eq(TotalType.EXACT), isNull()))
+                .willReturn(Optional.of(buildPage(buildResponse(1L))));
+
+        mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1));
+        then(courseService).shouldHaveNoInteractions();
+    }
+
     @Test
     void shouldReturn200WithCourseById() throws Exception {
         given(courseService.findById(1L)).willReturn(buildResponse(1L));
@@ -138,6 +206,48 @@ class CourseControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void shouldReturn200WhenCoursePatched() throws Exception {
+        given(courseService.patch(eq(1L), any(CoursePatchRequest.class))).willReturn(buildResponse(1L));
+
+        mockMvc.perform(patch("/api/courses/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 199.99}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("JAVA-101"));
+    }
+
+    @Test
+    void shouldReturn404WhenPatchingNonexistentCourse() throws Exception {
+        given(courseService.patch(eq(99L), any(CoursePatchRequest.class)))
+                .willThrow(new CourseNotFoundException(99L));
+
+        mockMvc.perform(patch("/api/courses/99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 199.99}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturn400WhenPatchingWithInvalidValues() throws Exception {
+        mockMvc.perform(patch("/api/courses/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"  \", \"price\": -1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.name").value("El nombre no puede estar vacío"))
+                .andExpect(jsonPath("$.errors.price").value("El precio debe ser un número positivo"));
+    }
+
+    @Test
+    void shouldAllowPatchInCorsPreflight() throws Exception {
+        mockMvc.perform(options("/api/courses/1")
+                        .header("Origin", "https://cursos.example.com")
+                        .header("Access-Control-Request-Method", "PATCH"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Access-Control-Allow-Origin", "*"))
+                .andExpect(header().string("Access-Control-Allow-Methods", "GET,POST,PUT,PATCH,DELETE,OPTIONS"));
+    }
+
     @Test
     void shouldReturn204WhenCourseDeleted() throws Exception {
         willDoNothing().given(courseService).delete(1L);
@@ -246,7 +356,7 @@ class CourseControllerTest {
 
     @Test
     void shouldReturn200WithPaginationMetadata() throws Exception {
-        given(courseService.findAll(isNull(), isNull(), any(Pageable.class)))
+        given(courseService.findAll(isNull(), isNull(), any(Pageable.class), eq(TotalType.EXACT)))
                 .willReturn(buildPage(buildResponse(1L)));
 
         mockMvc.perform(get("/api/courses").param("page", "0").param("size", "10"))
@@ -260,7 +370,7 @@ class CourseControllerTest {
 
     @Test
     void shouldFilterByType() throws Exception {
-        given(courseService.findAll(eq(CourseType.ONLINE), isNull(), any(Pageable.class)))
+        given(courseService.findAll(eq(CourseType.ONLINE), isNull(), any(Pageable.class), eq(TotalType.EXACT)))
                 .willReturn(buildPage(buildResponse(1L)));
 
         mockMvc.perform(get("/api/courses").param("type", "ONLINE"))
@@ -270,7 +380,8 @@ class CourseControllerTest {
 
     @Test
     void shouldFilterByName() throws Exception {
-        given(courseService.findAll(isNull(), eq("java"), any(Pageable.class)))
+        given(courseService.findAll(isNull(), eq("java"),
+                eq(PageRequest.of(0, 10, Sort.by("relevance").ascending())), eq(TotalType.EXACT)))
                 .willReturn(buildPage(buildResponse(1L)));
 
         mockMvc.perform(get("/api/courses").param("name", "java"))
@@ -278,9 +389,18 @@ class CourseControllerTest {
                 .andExpect(jsonPath("$.content.length()").value(1));
     }
 
+    @Test
+    void shouldReturn400ForUnsupportedSort() throws Exception {
+        mockMvc.perform(get("/api/courses").param("name", "java").param("sort", "description"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported sort field: description"));
+
+        then(courseService).shouldHaveNoInteractions();
+    }
+
     @Test
     void shouldFilterByTypeAndName() throws Exception {
-        given(courseService.findAll(eq(CourseType.PRESENCIAL), eq("java"), any(Pageable.class)))
+        given(courseService.findAll(eq(CourseType.PRESENCIAL), eq("java"), any(Pageable.class), eq(TotalType.EXACT)))
                 .willReturn(buildPage(buildResponse(1L)));
 
         mockMvc.perform(get("/api/courses")
@@ -301,7 +421,7 @@ class CourseControllerTest {
                 .last(true)
                 .build();
 
-        given(courseService.findAll(eq(CourseType.ONLINE), isNull(), any(Pageable.class)))
+        given(courseService.findAll(eq(CourseType.ONLINE), isNull(), any(Pageable.class), eq(TotalType.EXACT)))
                 .willReturn(emptyPage);
 
         mockMvc.perform(get("/api/courses").param("type", "ONLINE"))
@@ -309,4 +429,406 @@ class CourseControllerTest {
                 .andExpect(jsonPath("$.content.length()").value(0))
                 .andExpect(jsonPath("$.totalElements").value(0));
     }
+
+    @Test
+    void shouldPassRequestedTotalModeToService() throws Exception {
+        PagedResponse<CourseResponse> slice = PagedResponse.<CourseResponse>builder()
+                .content(List.of(buildResponse(1L)))
+                .page(0)
+                .size(10)
+                .totalElements(-1)
+                .totalPages(-1)
+                .last(false)
+                .totalType(TotalType.NONE)
+                .build();
+        given(courseService.findAll(isNull(), isNull(), any(Pageable.class), eq(TotalType.NONE)))
+                .willReturn(slice);
+
+        mockMvc.perform(get("/api/courses").param("total", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalType").value("NONE"))
+                .andExpect(jsonPath("$.totalElements").value(-1))
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    // ── Keyset Pagination Tests ────────────────────────────────────
+
+    @Test
+    void shouldReturn200WithCursorPage() throws Exception {
+        given(courseService.scroll(isNull(), isNull(), eq("id"), eq("abc"), eq(1)))
+                .willReturn(CursorResponse.<CourseResponse>builder()
+                        .content(List.of(buildResponse(2L)))
+                        .size(1)
+                        .nextCursor("next")
+                        .hasNext(true)
+                        .build());
+
+        mockMvc.perform(get("/api/courses/scroll").param("after", "abc").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void shouldReturn400WhenCursorIsInvalid() throws Exception {
+        given(courseService.scroll(isNull(), isNull(), eq("id"), eq("bad"), eq(10)))
+                .willThrow(new InvalidCursorException("Malformed cursor"));
+
+        mockMvc.perform(get("/api/courses/scroll").param("after", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Malformed cursor"));
+    }
+
+    // ── Sparse Fieldset Tests ──────────────────────────────────────
+
+    @Test
+    void shouldReturnOnlyRequestedFields() throws Exception {
+        Map<String, Object> row = Map.of("id", 1L, "code", "JAVA-101", "price", new BigDecimal("299.99"));
+        given(courseService.findAll(isNull(), isNull(), any(Pageable.class), eq(TotalType.EXACT),
+                eq(EnumSet.of(CourseField.ID, CourseField.CODE, CourseField.PRICE))))
+                .willReturn(PagedResponse.<Map<String, Object>>builder()
+                        .content(List.of(row))
+                        .page(0)
+                        .size(10)
+                        .totalElements(1)
+                        .totalPages(1)
+                        .last(true)
+                        .build());
+
+        mockMvc.perform(get("/api/courses").param("fields", "code, price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].code").value("JAVA-101"))
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+        then(courseService).should(never()).findAll(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnSparseCourseById() throws Exception {
+        given(courseService.findById(1L, EnumSet.of(CourseField.ID, CourseField.NAME)))
+                .willReturn(Map.of("id", 1L, "name", "Java Fundamentals"));
+
+        mockMvc.perform(get("/api/courses/1").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Java Fundamentals"))
+                .andExpect(jsonPath("$.code").doesNotExist());
+    }
+
+    @Test
+    void shouldReturn400ForUnknownField() throws Exception {
+        mockMvc.perform(get("/api/courses").param("fields", "id,secret"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown course field: secret"));
+
+        then(courseService).shouldHaveNoInteractions();
+    }
+
+    // ── Admission Control Tests ────────────────────────────────────
+
+    @Test
+    void shouldReturn503WithRetryAfterWhenOverloaded() throws Exception {
+        given(courseService.findById(1L))
+                .willThrow(new ServiceOverloadedException(Duration.ofMillis(500), Duration.ofSeconds(2)));
+
+        mockMvc.perform(get("/api/courses/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    // ── Batch Tests ────────────────────────────────────────────────
+
+    @Test
+    void shouldReturnBatchSummaryWithPerItemErrors() throws Exception {
+        given(courseBatchService.createAll(anyList())).willReturn(BatchResponse.builder()
+                .received(2)
+                .succeeded(1)
+                .failed(1)
+                .courses(List.of(buildResponse(1L)))
+                .errors(List.of(BatchItemError.builder()
+                        .index(1)
+                        .errors(Map.of("name", "El nombre es obligatorio"))
+                        .build()))
+                .build());
+
+        mockMvc.perform(post("/api/courses/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(buildRequest(), new CourseRequest()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].errors.name").value("El nombre es obligatorio"));
+    }
+
+    @Test
+    void shouldRouteBatchUpdateToBatchService() throws Exception {
+        given(courseBatchService.updateAll(anyList())).willReturn(BatchResponse.builder()
+                .received(1)
+                .succeeded(1)
+                .courses(List.of(buildResponse(1L)))
+                .errors(List.of())
+                .build());
+
+        mockMvc.perform(put("/api/courses/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":1,\"code\":\"JAVA-101\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courses[0].id").value(1));
+        then(courseService).shouldHaveNoInteractions();
+    }
+
+    // ── Lookup Tests ───────────────────────────────────────────────
+
+    @Test
+    void shouldLookUpCoursesByIdsQueryParameter() throws Exception {
+        given(courseService.lookup(List.of(1L, 99L), List.of())).willReturn(CourseLookupResponse.builder()
+                .courses(List.of(buildResponse(1L)))
+                .missingIds(List.of(99L))
+                .missingCodes(List.of())
+                .build());
+
+        mockMvc.perform(get("/api/courses").param("ids", "1,99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courses[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(99));
+        then(courseService).should(never()).findAll(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldLookUpCoursesByIdsAndCodes() throws Exception {
+        given(courseService.lookup(List.of(1L), List.of("NOPE"))).willReturn(CourseLookupResponse.builder()
+                .courses(List.of(buildResponse(1L)))
+                .missingIds(List.of())
+                .missingCodes(List.of("NOPE"))
+                .build());
+
+        mockMvc.perform(post("/api/courses/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1], \"codes\": [\"NOPE\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courses[0].code").value("JAVA-101"))
+                .andExpect(jsonPath("$.missingCodes[0]").value("NOPE"));
+    }
+
+    // ── ETag Tests ─────────────────────────────────────────────────
+
+    @Test
+    void shouldTagCourseWithIdAndVersionAndAnswer304FromCache() throws Exception {
+        given(courseService.findById(1L)).willReturn(buildResponse(1L));
+
+        mockMvc.perform(get("/api/courses/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+        mockMvc.perform(get("/api/courses/1").header(HttpHeaders.IF_NONE_MATCH, "\"0-1\", W/\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+
+        then(courseService).should(times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldReloadCourseAfterCommittedChange() throws Exception {
+        given(courseService.findById(1L)).willReturn(buildResponse(1L));
+        mockMvc.perform(get("/api/courses/1")).andExpect(status().isOk());
+
+        courseJsonCache.onCourseChanged(CourseChangedEvent.updated(1L));
+        mockMvc.perform(get("/api/courses/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified());
+
+        then(courseService).should(times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldReloadCourseOnceTtlExpires() throws Exception {
+        given(courseService.findById(1L)).willReturn(buildResponse(1L));
+        ReflectionTestUtils.setField(courseJsonCache, "ttl", Duration.ZERO);
+        try {
+            mockMvc.perform(get("/api/courses/1")).andExpect(status().isOk());
+            mockMvc.perform(get("/api/courses/1")).andExpect(status().isOk());
+        } finally {
+            ReflectionTestUtils.setField(courseJsonCache, "ttl", Duration.ofMinutes(5));
+        }
+
+        then(courseService).should(times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldServeListingPagesFromCachedBytesWithContentEtag() throws Exception {
+        given(courseService.findAll(isNull(), isNull(), any(Pageable.class), eq(TotalType.EXACT)))
+                .willReturn(buildPage(buildResponse(1L)));
+        given(courseCatalog.findAll(any(), any(), any(), any(), any())).willReturn(Optional.empty());
+
+        String etag = mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/courses").param("page", "1"))
+                .andExpect(status().isOk());
+
+        then(courseService).should(times(2)).findAll(isNull(), isNull(), any(Pageable.class), eq(TotalType.EXACT));
+    }
+
+    // ── Suggest Tests ──────────────────────────────────────────────
+
+    @Test
+    void shouldSuggestFromCatalogWhenLoaded() throws Exception {
+        given(courseCatalog.suggest("jav", 5))
+                .willReturn(Optional.of(List.of(CourseSuggestion.of(buildResponse(1L)))));
+
+        mockMvc.perform(get("/api/courses/suggest").param("q", "jav").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].code").value("JAVA-101"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+        then(courseService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldSuggestFromDatabaseWithoutCatalog() throws Exception {
+        given(courseCatalog.suggest("jav", 10)).willReturn(Optional.empty());
+        given(courseService.suggest("jav", 10)).willReturn(List.of(CourseSuggestion.of(buildResponse(1L))));
+
+        mockMvc.perform(get("/api/courses/suggest").param("q", "jav"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    // ── Upsert Tests ───────────────────────────────────────────────
+
+    @Test
+    void shouldReturn201WhenUpsertInserts() throws Exception {
+        given(courseService.upsert(eq("JAVA-101"), any(CourseRequest.class)))
+                .willReturn(new UpsertedCourse(buildResponse(1L), true));
+
+        mockMvc.perform(put("/api/courses/by-code/JAVA-101")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildRequest())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void shouldReturn200WhenUpsertUpdates() throws Exception {
+        given(courseService.upsert(eq("JAVA-101"), any(CourseRequest.class)))
+                .willReturn(new UpsertedCourse(buildResponse(1L), false));
+
+        mockMvc.perform(put("/api/courses/by-code/JAVA-101")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildRequest())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldReturn400WithFieldErrorsWhenUpsertIsInvalid() throws Exception {
+        given(courseService.upsert(eq("JAVA-101"), any(CourseRequest.class)))
+                .willThrow(new CourseValidationException(Map.of("name", "El nombre es obligatorio")));
+
+        mockMvc.perform(put("/api/courses/by-code/JAVA-101")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error de validación"))
+                .andExpect(jsonPath("$.errors.name").value("El nombre es obligatorio"));
+    }
+
+    @Test
+    void shouldRouteBatchUpsertToBatchService() throws Exception {
+        given(courseBatchService.upsertAll(anyList())).willReturn(UpsertResponse.builder()
+                .received(1)
+                .inserted(1)
+                .courses(List.of(buildResponse(1L)))
+                .errors(List.of())
+                .build());
+
+        mockMvc.perform(put("/api/courses/by-code")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(buildRequest()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.courses[0].id").value(1));
+        then(courseService).shouldHaveNoInteractions();
+    }
+
+    // ── Export Tests ───────────────────────────────────────────────
+
+    @Test
+    void shouldStreamNdjsonExport() throws Exception {
+        given(courseExportService.export(eq(CatalogFormat.NDJSON), any(OutputStream.class))).willAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/courses/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=courses.ndjson"))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void shouldStreamCsvExportWhenRequested() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/courses/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"));
+        then(courseExportService).should().export(eq(CatalogFormat.CSV), any(OutputStream.class));
+    }
+
+    // ── Import Tests ───────────────────────────────────────────────
+
+    @Test
+    void shouldImportCsvUploadAndReturnSummary() throws Exception {
+        given(courseImportService.importCourses(eq(CatalogFormat.CSV), any(InputStream.class)))
+                .willReturn(ImportResponse.builder()
+                        .received(2)
+                        .accepted(2)
+                        .inserted(1)
+                        .updated(1)
+                        .errors(List.of())
+                        .build());
+
+        mockMvc.perform(post("/api/courses/import")
+                        .contentType("text/csv")
+                        .content("code,name,duration,type,price\nJAVA-101,Java,40,ONLINE,10\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(1));
+    }
+
+    @Test
+    void shouldTreatNdjsonUploadAsNdjson() throws Exception {
+        given(courseImportService.importCourses(eq(CatalogFormat.NDJSON), any(InputStream.class)))
+                .willReturn(ImportResponse.builder().errors(List.of()).build());
+
+        mockMvc.perform(post("/api/courses/import")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldReturn415ForUnsupportedImportFormat() throws Exception {
+        mockMvc.perform(post("/api/courses/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<courses/>"))
+                .andExpect(status().isUnsupportedMediaType());
+        then(courseImportService).shouldHaveNoInteractions();
+    }
 }
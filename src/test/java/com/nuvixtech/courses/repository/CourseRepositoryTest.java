@@ -1,5 +1,9 @@
 package com.nuvixtech.courses.repository;
 
+import com.nuvixtech.courses.dto.CourseField;
+import com.nuvixtech.courses.dto.CourseRequest;
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.UpsertedCourse;
 import com.nuvixtech.courses.model.Course;
 import com.nuvixtech.courses.model.CourseType;
 import org.junit.jupiter.api.Test;
@@ -7,13 +11,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.Commit;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -50,19 +59,6 @@ class CourseRepositoryTest {
         assertThat(course).isEmpty();
     }
 
-    @Test
-    void shouldFindCoursesByType() {
-        Page<Course> online = courseRepository.findByType(CourseType.ONLINE, PageRequest.of(0, 20));
-        assertThat(online.getContent()).isNotEmpty();
-        assertThat(online.getContent()).allMatch(c -> c.getType() == CourseType.ONLINE);
-    }
-
-    @Test
-    void shouldFindCoursesByNameContainingIgnoreCase() {
-        Page<Course> results = courseRepository.findByNameContainingIgnoreCase("java", PageRequest.of(0, 20));
-        assertThat(results.getContent()).hasSize(2);
-    }
-
     @Test
     void shouldSaveNewCourse() {
         Course course = Course.builder()
@@ -110,8 +106,191 @@ class CourseRepositoryTest {
     }
 
     @Test
-    void shouldReturnTrueForExistingCode() {
-        assertThat(courseRepository.existsByCode("PYTH-101")).isTrue();
-        assertThat(courseRepository.existsByCode("INVALID")).isFalse();
+    void shouldUpdateOnlyGivenColumnsAndReturnTheRow() {
+        Course course = courseRepository.findByCode("JAVA-101").orElseThrow();
+        Map<CourseField, Object> values = new EnumMap<>(CourseField.class);
+        values.put(CourseField.PRICE, new BigDecimal("199.99"));
+        values.put(CourseField.TYPE, CourseType.ONLINE);
+        values.put(CourseField.DESCRIPTION, null);
+
+        Optional<CourseResponse> updated = courseRepository.updateFields(course.getId(), values);
+
+        assertThat(updated).get()
+                .returns(course.getId(), CourseResponse::getId)
+                .returns("Java Fundamentals", CourseResponse::getName)
+                .returns(CourseType.ONLINE, CourseResponse::getType)
+                .returns(null, CourseResponse::getDescription)
+                .returns(new BigDecimal("199.99"), CourseResponse::getPrice)
+                .returns(course.getVersion() + 1, CourseResponse::getVersion);
+        assertThat(courseRepository.findResponseById(course.getId())).get()
+                .usingRecursiveComparison().isEqualTo(updated.get());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenUpdatingMissingCourse() {
+        assertThat(courseRepository.updateFields(-1L, Map.of(CourseField.NAME, "Nada"))).isEmpty();
+    }
+
+    @Test
+    void shouldReportDeletedRowCount() {
+        Course course = courseRepository.findByCode("JAVA-101").orElseThrow();
+
+        assertThat(courseRepository.deleteCourse(course.getId())).isEqualTo(1);
+        assertThat(courseRepository.deleteCourse(course.getId())).isZero();
+        assertThat(courseRepository.count()).isEqualTo(9);
+    }
+
+    @Test
+    void shouldFindCoursesByIdsOrCodesInOneQuery() {
+        Long javaId = courseRepository.findByCode("JAVA-101").orElseThrow().getId();
+
+        List<CourseResponse> found = courseRepository.findByIdsOrCodes(List.of(javaId, -1L), List.of("PYTH-101", "NOPE"));
+
+        assertThat(found).extracting(CourseResponse::getCode).containsExactlyInAnyOrder("JAVA-101", "PYTH-101");
+        assertThat(courseRepository.findByIdsOrCodes(List.of(), List.of())).isEmpty();
+    }
+
+    @Test
+    void shouldInsertNewCodesAndUpdateExistingOnesInOneStatement() {
+        Long javaId = courseRepository.findByCode("JAVA-101").orElseThrow().getId();
+        CourseRequest existing = upsertRequest("JAVA-101", "Java desde cero");
+        CourseRequest created = upsertRequest("UPS-001", "Curso nuevo");
+        created.setDescription(null);
+
+        List<UpsertedCourse> upserted = courseRepository.upsertByCode(List.of(existing, created));
+
+        assertThat(upserted).extracting(course -> course.course().getCode()).containsExactly("JAVA-101", "UPS-001");
+        assertThat(upserted).extracting(UpsertedCourse::inserted).containsExactly(false, true);
+        assertThat(upserted.get(0).course().getId()).isEqualTo(javaId);
+        assertThat(upserted.get(0).course().getName()).isEqualTo("Java desde cero");
+        assertThat(upserted.get(0).course().getVersion()).isEqualTo(1L);
+        assertThat(upserted.get(1).course().getVersion()).isZero();
+        assertThat(upserted.get(1).course().getId()).isNotNull();
+        assertThat(courseRepository.count()).isEqualTo(11);
+        assertThat(courseRepository.findResponseById(javaId)).get()
+                .returns("Java desde cero", CourseResponse::getName);
+    }
+
+    private CourseRequest upsertRequest(String code, String name) {
+        CourseRequest request = new CourseRequest();
+        request.setCode(code);
+        request.setName(name);
+        request.setDescription("Sincronizado");
+        request.setDuration(12);
+        request.setType(CourseType.ONLINE);
+        request.setPrice(new BigDecimal("49.90"));
+        return request;
+    }
+
+    @Test
+    void shouldPageByKeysetWithoutOverlap() {
+        List<CourseResponse> first = courseRepository.findAfter(null, null, "name", null, null, 4);
+        assertThat(first).hasSize(4);
+
+        CourseResponse last = first.get(3);
+        List<CourseResponse> rest = courseRepository.findAfter(null, null, "name", last.getName(), last.getId(), 20);
+
+        assertThat(rest).hasSize(6);
+        assertThat(rest).extracting(CourseResponse::getId)
+                .doesNotContainAnyElementsOf(first.stream().map(CourseResponse::getId).toList());
+    }
+
+    @Test
+    void shouldFilterKeysetPageByTypeAndName() {
+        List<CourseResponse> results = courseRepository.findAfter(CourseType.PRESENCIAL, "java", "id", null, null, 20);
+        assertThat(results).hasSize(2);
+        assertThat(results).allMatch(c -> c.getType() == CourseType.PRESENCIAL);
+    }
+
+    @Test
+    void shouldSearchIgnoringCaseAndAccents() {
+        Page<CourseResponse> results = courseRepository.search(null, "ANALISIS", PageRequest.of(0, 20));
+        assertThat(results.getContent()).extracting(CourseResponse::getCode).containsExactly("PYTH-201");
+    }
+
+    @Test
+    void shouldSearchDescriptionAndFilterByType() {
+        Page<CourseResponse> results = courseRepository.search(CourseType.ONLINE, "introduccion", PageRequest.of(0, 20));
+        assertThat(results.getContent()).extracting(CourseResponse::getCode).containsExactly("CLOUD-101");
+        assertThat(courseRepository.countSearch(CourseType.ONLINE, "introduccion")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRankSearchResultsByRelevance() {
+        Page<CourseResponse> results = courseRepository.search(null, "python", PageRequest.of(0, 20));
+        assertThat(results.getContent()).hasSize(2);
+        assertThat(results.getContent()).allMatch(c -> c.getCode().startsWith("PYTH"));
+    }
+
+    @Test
+    void shouldTreatLikeWildcardsLiterally() {
+        Page<CourseResponse> results = courseRepository.search(null, "%", PageRequest.of(0, 20));
+        assertThat(results.getContent()).isEmpty();
+    }
+
+    @Test
+    void shouldProjectPageStraightIntoResponses() {
+        Page<CourseResponse> page = courseRepository.findResponsePageByType(
+                CourseType.ONLINE, PageRequest.of(0, 2, Sort.by("price")));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(courseRepository.countByType(CourseType.ONLINE));
+        assertThat(page.getContent()).allMatch(c -> c.getType() == CourseType.ONLINE);
+        assertThat(page.getContent().get(0).getPrice())
+                .isLessThanOrEqualTo(page.getContent().get(1).getPrice());
+    }
+
+    @Test
+    void shouldProjectSingleCourseById() {
+        Course course = courseRepository.findByCode("PYTH-101").orElseThrow();
+
+        Optional<CourseResponse> found = courseRepository.findResponseById(course.getId());
+
+        assertThat(found).isPresent();
+        assertThat(found.get().getCode()).isEqualTo("PYTH-101");
+        assertThat(found.get().getName()).isEqualTo(course.getName());
+        assertThat(courseRepository.findResponseById(-1L)).isEmpty();
+    }
+
+    @Test
+    void shouldSelectOnlyRequestedFields() {
+        Page<Map<String, Object>> page = courseRepository.findFields(
+                EnumSet.of(CourseField.ID, CourseField.CODE, CourseField.PRICE),
+                CourseType.PRESENCIAL, null, PageRequest.of(0, 3, Sort.by("price")));
+
+        assertThat(page.getTotalElements()).isEqualTo(courseRepository.countByType(CourseType.PRESENCIAL));
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getContent().get(0)).containsOnlyKeys("id", "code", "price");
+        assertThat(page.getContent().get(0).get("code")).isEqualTo("DB-101");
+    }
+
+    @Test
+    void shouldSelectSingleFieldById() {
+        Course course = courseRepository.findByCode("WEB-101").orElseThrow();
+
+        Optional<Map<String, Object>> found = courseRepository.findFieldsById(EnumSet.of(CourseField.ID), course.getId());
+
+        assertThat(found).contains(Map.of("id", course.getId()));
+    }
+
+    @Test
+    void shouldAssignSequenceIdsToBatchedInserts() {
+        List<Course> saved = courseRepository.saveAll(List.of(
+                Course.builder().code("BATCH-1").name("Batch 1").duration(1)
+                        .type(CourseType.ONLINE).price(new BigDecimal("1.00")).build(),
+                Course.builder().code("BATCH-2").name("Batch 2").duration(1)
+                        .type(CourseType.ONLINE).price(new BigDecimal("1.00")).build()));
+        courseRepository.flush();
+
+        assertThat(saved).extracting(Course::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(courseRepository.findByCodeIn(List.of("BATCH-1", "BATCH-2", "JAVA-101"))).hasSize(3);
+    }
+
+    @Test
+    void shouldStreamAllCoursesInIdOrder() {
+        try (Stream<Course> courses = courseRepository.streamAll()) {
+            List<Long> ids = courses.map(Course::getId).toList();
+            assertThat(ids).hasSize(10).isSorted();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,219 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseField;
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.dto.SearchableCourse;
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.model.CourseType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+            course(3L, "PYTH-101", "Python for Beginners", "Aprende Python desde cero", CourseType.ONLINE, "199.99"),
+            course(1L, "JAVA-101", "Java Fundamentals", "Introducción al lenguaje Java", CourseType.PRESENCIAL, "299.99"),
+            course(2L, "JAVA-201", "Advanced Java", null, CourseType.PRESENCIAL, "449.99"),
+            course(4L, "DATA-101", "Data Science", "Análisis de datos con Python", CourseType.ONLINE, "599.99"),
+            course(5L, "WEB-101", "HTML y CSS", "Desarrollo web básico", CourseType.ONLINE, "149.99")));
+
+    // search_text as PostgreSQL generates it for these (Spanish, lower-case accented) texts
+    private static SearchableCourse course(Long id, String code, String name, String description, CourseType type,
+                                           String price) {
+        return new SearchableCourse(new CourseResponse(id, code, name, description, 10, type, new BigDecimal(price), 0L),
+                SuggestionIndex.normalize(name + " " + (description != null ? description : "")));
+    }
+
+    private List<Long> ids(CourseType type, String text, Pageable pageable) {
+        return snapshot.findAll(type, text, pageable, TotalType.EXACT, Function.identity()).getContent().stream()
+                .map(CourseResponse::getId)
+                .toList();
+    }
+
+    // ── Listing Tests ──────────────────────────────────────────────
+
+    @Test
+    void shouldPageInIdOrderWithExactTotals() {
+        PagedResponse<CourseResponse> page = snapshot.findAll(null, null, PageRequest.of(1, 2, Sort.by("id")),
+                TotalType.EXACT, Function.identity());
+
+        assertThat(page.getContent()).extracting(CourseResponse::getId).containsExactly(3L, 4L);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.isLast()).isFalse();
+    }
+
+    @Test
+    void shouldFilterByTypeAndSortByProperty() {
+        assertThat(ids(CourseType.ONLINE, null, PageRequest.of(0, 10, Sort.by("price")))).containsExactly(5L, 3L, 4L);
+        assertThat(ids(CourseType.PRESENCIAL, null, PageRequest.of(0, 10, Sort.by("price")))).containsExactly(1L, 2L);
+        assertThat(ids(null, null, PageRequest.of(0, 10, Sort.by("duration")))).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void shouldReturnEmptyPageBeyondTheEnd() {
+        PagedResponse<CourseResponse> page = snapshot.findAll(null, null, PageRequest.of(5, 2, Sort.by("id")),
+                TotalType.EXACT, Function.identity());
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldReportNextPageWithoutTotal() {
+        PagedResponse<CourseResponse> page = snapshot.findAll(null, "python", PageRequest.of(0, 1, Sort.by("id")),
+                TotalType.NONE, Function.identity());
+
+        assertThat(page.getContent()).extracting(CourseResponse::getId).containsExactly(3L);
+        assertThat(page.getTotalType()).isEqualTo(TotalType.NONE);
+        assertThat(page.isLast()).isFalse();
+    }
+
+    // ── Search Tests ───────────────────────────────────────────────
+
+    @Test
+    void shouldSearchNameAndDescriptionIgnoringCaseAndAccents() {
+        Pageable byId = PageRequest.of(0, 10, Sort.by("id"));
+
+        assertThat(ids(null, "PYTHON", byId)).containsExactly(3L, 4L);
+        assertThat(ids(null, "analisis", byId)).containsExactly(4L);
+        assertThat(ids(null, "introduccion", byId)).containsExactly(1L);
+        assertThat(ids(CourseType.ONLINE, "python", byId)).containsExactly(3L, 4L);
+        assertThat(ids(CourseType.PRESENCIAL, "python", byId)).isEmpty();
+    }
+
+    @Test
+    void shouldMatchSubstringsAcrossWords() {
+        Pageable byId = PageRequest.of(0, 10, Sort.by("id"));
+
+        assertThat(ids(null, "va fun", byId)).containsExactly(1L);
+        assertThat(ids(null, "ava", byId)).containsExactly(1L, 2L);
+        assertThat(ids(null, "web bas", byId)).containsExactly(5L);
+        assertThat(ids(null, "java fun python", byId)).isEmpty();
+    }
+
+    @Test
+    void shouldNarrowRareWordsThroughTheTokenIndexLikeAFullScan() {
+        List<SearchableCourse> courses = new ArrayList<>();
+        for (long id = 1; id <= 80; id++) {
+            String name = id % 20 == 0 ? "Kotlin " + id : "Curso " + id;
+            courses.add(course(id, "C-" + id, name, id % 2 == 0 ? "Tema común" : "Tema avanzado",
+                    id % 3 == 0 ? CourseType.ONLINE : CourseType.PRESENCIAL, (100 - id) + ".00"));
+        }
+        CatalogSnapshot large = CatalogSnapshot.of(courses)
+                .with(course(81L, "C-81", "Scala funcional", "Tema común", CourseType.ONLINE, "5.00"))
+                .without(40L)
+                .with(course(60L, "C-60", "Curso 60", "Tema común", CourseType.ONLINE, "40.00"));
+        courses.add(course(81L, "C-81", "Scala funcional", "Tema común", CourseType.ONLINE, "5.00"));
+        courses.removeIf(course -> course.course().getId() == 40L || course.course().getId() == 60L);
+        courses.add(course(60L, "C-60", "Curso 60", "Tema común", CourseType.ONLINE, "40.00"));
+
+        for (CourseType type : new CourseType[]{null, CourseType.ONLINE, CourseType.PRESENCIAL}) {
+            for (String text : new String[]{"kotlin", "otli", "scala fun", "la", "comun", "kotlin 8", "xyz"}) {
+                for (String sort : new String[]{"id", "price"}) {
+                    Comparator<SearchableCourse> order = sort.equals("id")
+                            ? Comparator.comparing(course -> course.course().getId())
+                            : Comparator.comparing(course -> course.course().getPrice());
+                    List<Long> expected = courses.stream()
+                            .filter(course -> type == null || course.course().getType() == type)
+                            .filter(course -> course.searchText().contains(text))
+                            .sorted(order)
+                            .map(course -> course.course().getId())
+                            .toList();
+                    PagedResponse<Long> page = large.findAll(type, text, PageRequest.of(0, 100, Sort.by(sort)),
+                            TotalType.EXACT, CourseResponse::getId);
+
+                    assertThat(page.getContent()).as("%s %s %s", type, text, sort).isEqualTo(expected);
+                    assertThat(page.getTotalElements()).isEqualTo(expected.size());
+                }
+            }
+        }
+    }
+
+    // ── Support Tests ──────────────────────────────────────────────
+
+    @Test
+    void shouldLeaveRelevanceAndStringSortsToTheDatabase() {
+        assertThat(snapshot.supports(null, PageRequest.of(0, 10))).isTrue();
+        assertThat(snapshot.supports("java", PageRequest.of(0, 10, Sort.by("price")))).isTrue();
+        assertThat(snapshot.supports("java", PageRequest.of(0, 10))).isFalse();
+        assertThat(snapshot.supports("java", PageRequest.of(0, 10, Sort.by("relevance")))).isFalse();
+        assertThat(snapshot.supports(null, PageRequest.of(0, 10, Sort.by("price").descending()))).isFalse();
+        assertThat(snapshot.supports(null, PageRequest.of(0, 10, Sort.by("type", "price")))).isFalse();
+        assertThat(snapshot.supports(null, PageRequest.of(0, 10, Sort.by("name")))).isFalse();
+        assertThat(snapshot.supports(null, PageRequest.of(0, 10, Sort.by("code")))).isFalse();
+        assertThat(snapshot.supports(null, PageRequest.of(0, 10, Sort.by("type")))).isFalse();
+        assertThat(snapshot.supports(null, Pageable.unpaged())).isFalse();
+        assertThat(snapshot.supports("análisis", PageRequest.of(0, 10, Sort.by("id")))).isFalse();
+        assertThat(snapshot.supports("straße", PageRequest.of(0, 10, Sort.by("id")))).isFalse();
+    }
+
+    // ── Copy-on-write Tests ────────────────────────────────────────
+
+    @Test
+    void shouldBuildNewSnapshotsOnChangeAndLeaveTheOldOneIntact() {
+        CatalogSnapshot updated = snapshot
+                .with(course(2L, "JAVA-201", "Advanced Java", "Ahora con Python", CourseType.ONLINE, "99.99"))
+                .with(course(9L, "NEW-1", "Nuevo", null, CourseType.ONLINE, "9.99"))
+                .without(5L);
+        Pageable byPrice = PageRequest.of(0, 10, Sort.by("price"));
+
+        assertThat(updated.size()).isEqualTo(5);
+        assertThat(updated.findAll(CourseType.ONLINE, null, byPrice, TotalType.EXACT, Function.identity())
+                .getContent()).extracting(CourseResponse::getId).containsExactly(9L, 2L, 3L, 4L);
+        assertThat(updated.findAll(null, "python", byPrice, TotalType.EXACT, Function.identity()).getTotalElements())
+                .isEqualTo(3);
+        assertThat(snapshot.size()).isEqualTo(5);
+        assertThat(ids(CourseType.ONLINE, null, byPrice)).containsExactly(5L, 3L, 4L);
+    }
+
+    @Test
+    void shouldMatchAFreshBuildAfterChanges() {
+        CatalogSnapshot changed = snapshot
+                .with(course(2L, "JAVA-201", "Advanced Java", "Java con Python", CourseType.ONLINE, "99.99"))
+                .with(course(0L, "AAA-1", "Primero", "Más Python", CourseType.PRESENCIAL, "599.99"))
+                .without(4L)
+                .without(42L);
+        CatalogSnapshot rebuilt = CatalogSnapshot.of(List.of(
+                course(0L, "AAA-1", "Primero", "Más Python", CourseType.PRESENCIAL, "599.99"),
+                course(1L, "JAVA-101", "Java Fundamentals", "Introducción al lenguaje Java", CourseType.PRESENCIAL,
+                        "299.99"),
+                course(2L, "JAVA-201", "Advanced Java", "Java con Python", CourseType.ONLINE, "99.99"),
+                course(3L, "PYTH-101", "Python for Beginners", "Aprende Python desde cero", CourseType.ONLINE, "199.99"),
+                course(5L, "WEB-101", "HTML y CSS", "Desarrollo web básico", CourseType.ONLINE, "149.99")));
+
+        for (CourseType type : new CourseType[]{null, CourseType.ONLINE, CourseType.PRESENCIAL}) {
+            for (String text : new String[]{null, "python", "java", "analisis", "mas"}) {
+                for (String sort : new String[]{"id", "price", "duration"}) {
+                    Pageable pageable = PageRequest.of(0, 10, Sort.by(sort));
+                    assertThat(changed.findAll(type, text, pageable, TotalType.EXACT, CourseResponse::getId).getContent())
+                            .as("%s %s %s", type, text, sort)
+                            .isEqualTo(rebuilt.findAll(type, text, pageable, TotalType.EXACT, CourseResponse::getId)
+                                    .getContent());
+                }
+            }
+        }
+        assertThat(changed.size()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldProjectSparseFieldsLikeTheDatabase() {
+        PagedResponse<Map<String, Object>> page = snapshot.findAll(null, null, PageRequest.of(0, 1, Sort.by("id")),
+                TotalType.EXACT, CatalogSnapshot.project(EnumSet.of(CourseField.ID, CourseField.TYPE)));
+
+        assertThat(page.getContent()).containsExactly(Map.of("id", 1L, "type", "PRESENCIAL"));
+    }
+}
@@ -0,0 +1,233 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.BatchResponse;
+import com.nuvixtech.courses.dto.CourseBatchUpdateRequest;
+import com.nuvixtech.courses.dto.CourseRequest;
+import com.nuvixtech.courses.dto.UpsertResponse;
+import com.nuvixtech.courses.dto.UpsertedCourse;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.exception.BatchTooLargeException;
+import com.nuvixtech.courses.model.Course;
+import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseBatchServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CourseIdFilter idFilter;
+
+    private CourseBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new CourseBatchService(courseRepository,
+                new CourseRequestValidator(Validation.buildDefaultValidatorFactory().getValidator()), eventPublisher,
+                idFilter);
+        ReflectionTestUtils.setField(batchService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(batchService, "chunkSize", 2);
+        ReflectionTestUtils.setField(batchService, "maxItems", 5);
+    }
+
+    private CourseRequest buildRequest(String code) {
+        CourseRequest request = new CourseRequest();
+        fill(request, code);
+        return request;
+    }
+
+    private CourseBatchUpdateRequest buildUpdate(Long id, String code) {
+        CourseBatchUpdateRequest request = new CourseBatchUpdateRequest();
+        request.setId(id);
+        fill(request, code);
+        return request;
+    }
+
+    private void fill(CourseRequest request, String code) {
+        request.setCode(code);
+        request.setName("Course " + code);
+        request.setDuration(10);
+        request.setType(CourseType.ONLINE);
+        request.setPrice(new BigDecimal("10.00"));
+    }
+
+    private Course buildCourse(Long id, String code) {
+        return Course.builder()
+                .id(id)
+                .code(code)
+                .name("Course " + code)
+                .duration(10)
+                .type(CourseType.ONLINE)
+                .price(new BigDecimal("10.00"))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assignIdsOnSave() {
+        given(courseRepository.saveAll(anyList())).willAnswer(invocation -> {
+            List<Course> courses = invocation.getArgument(0);
+            long id = 100;
+            for (Course course : courses) {
+                course.setId(id++);
+            }
+            return courses;
+        });
+    }
+
+    @Test
+    void shouldCreateValidItemsAndReportInvalidOnesByIndex() {
+        assignIdsOnSave();
+        CourseRequest invalid = buildRequest("BAD-1");
+        invalid.setPrice(BigDecimal.ZERO);
+
+        BatchResponse result = batchService.createAll(List.of(buildRequest("A-1"), invalid, buildRequest("A-2")));
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getIndex()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getErrors())
+                .containsEntry("price", "El precio debe ser un número positivo");
+        then(entityManager).should(times(2)).flush();
+        // one id per chunk, both numbered from 100 by the stub
+        then(idFilter).should().created(List.of(100L, 100L));
+        then(eventPublisher).should().publishEvent(CourseChangedEvent.bulk());
+    }
+
+    @Test
+    void shouldRejectCodesThatExistOrRepeatWithinBatch() {
+        assignIdsOnSave();
+        given(courseRepository.findByCodeIn(anyList()))
+                .willReturn(List.of(buildCourse(1L, "JAVA-101")))
+                .willReturn(List.of());
+
+        BatchResponse result = batchService.createAll(List.of(
+                buildRequest("JAVA-101"), buildRequest("NEW-1"), buildRequest("NEW-1")));
+
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting("index").containsExactly(0, 2);
+        assertThat(result.getErrors().get(0).getErrors()).containsEntry("code", "El código ya existe");
+    }
+
+    @Test
+    void shouldReportNullItems() {
+        List<CourseRequest> requests = new ArrayList<>(Collections.singletonList(null));
+
+        BatchResponse result = batchService.createAll(requests);
+
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getErrors()).containsKey("item");
+        then(eventPublisher).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldRejectBatchOverLimit() {
+        List<CourseRequest> requests = Collections.nCopies(6, buildRequest("A-1"));
+
+        assertThatThrownBy(() -> batchService.createAll(requests))
+                .isInstanceOf(BatchTooLargeException.class);
+        then(courseRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldUpdateFoundCoursesAndReportMissingIds() {
+        Course existing = buildCourse(1L, "JAVA-101");
+        existing.setVersion(0L);
+        given(courseRepository.findAllById(List.of(1L, 99L))).willReturn(List.of(existing));
+        given(courseRepository.findByCodeIn(anyList())).willReturn(List.of(existing));
+        // Hibernate increments the version of dirty entities when flushing
+        willAnswer(invocation -> {
+            existing.setVersion(existing.getVersion() + 1);
+            return null;
+        }).given(entityManager).flush();
+
+        BatchResponse result = batchService.updateAll(List.of(buildUpdate(1L, "JAVA-101"), buildUpdate(99L, "X-1")));
+
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getCourses().get(0).getVersion()).isEqualTo(existing.getVersion()).isEqualTo(1L);
+        assertThat(result.getErrors().get(0).getIndex()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getErrors()).containsEntry("id", "Course not found with id: 99");
+        assertThat(existing.getName()).isEqualTo("Course JAVA-101");
+    }
+
+    @Test
+    void shouldRejectUpdateTakingAnotherCoursesCode() {
+        given(courseRepository.findAllById(List.of(1L))).willReturn(List.of(buildCourse(1L, "JAVA-101")));
+        given(courseRepository.findByCodeIn(anyList())).willReturn(List.of(buildCourse(2L, "PYTH-101")));
+
+        BatchResponse result = batchService.updateAll(List.of(buildUpdate(1L, "PYTH-101")));
+
+        assertThat(result.getSucceeded()).isZero();
+        assertThat(result.getErrors().get(0).getErrors()).containsEntry("code", "El código ya existe");
+    }
+
+    @Test
+    void shouldRequireIdOnUpdateItems() {
+        BatchResponse result = batchService.updateAll(List.of(buildUpdate(null, "JAVA-101")));
+
+        assertThat(result.getErrors().get(0).getErrors()).containsEntry("id", "El id es obligatorio");
+    }
+
+    // ── Upsert Tests ───────────────────────────────────────────────
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldUpsertValidItemsInOneCallAndReportRepeatedCodes() {
+        given(courseRepository.upsertByCode(anyList())).willAnswer(invocation -> List.of(
+                new UpsertedCourse(CourseService.toResponse(buildCourse(1L, "JAVA-101")), false),
+                new UpsertedCourse(CourseService.toResponse(buildCourse(100L, "NEW-1")), true)));
+        CourseRequest invalid = buildRequest("BAD-1");
+        invalid.setName(" ");
+
+        UpsertResponse result = batchService.upsertAll(List.of(
+                buildRequest("JAVA-101"), buildRequest("NEW-1"), invalid, buildRequest("NEW-1")));
+
+        assertThat(result.getReceived()).isEqualTo(4);
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting("index").containsExactly(2, 3);
+        assertThat(result.getErrors().get(1).getErrors()).containsEntry("code", "El código está repetido en el lote");
+        then(courseRepository).should().upsertByCode(argThat(requests -> requests.size() == 2));
+        then(idFilter).should().created(List.of(100L));
+        then(eventPublisher).should().publishEvent(CourseChangedEvent.bulk());
+    }
+
+    @Test
+    void shouldNotPublishWhenNothingWasUpserted() {
+        given(courseRepository.upsertByCode(List.of())).willReturn(List.of());
+        CourseRequest invalid = buildRequest("BAD-1");
+        invalid.setDuration(null);
+
+        UpsertResponse result = batchService.upsertAll(List.of(invalid));
+
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getCourses()).isEmpty();
+        then(eventPublisher).shouldHaveNoInteractions();
+    }
+}
@@ -0,0 +1,123 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.config.CacheConfig;
+import com.nuvixtech.courses.dto.CatalogFormat;
+import com.nuvixtech.courses.dto.CourseRequest;
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.exception.CourseNotFoundException;
+import com.nuvixtech.courses.model.Course;
+import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs without a test transaction: caches are only populated and invalidated
+ * around real commits.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Sql("/test-courses.sql")
+class CourseCacheEvictorTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseImportService importService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseCacheEvictor cacheEvictor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long javaId;
+
+    @BeforeEach
+    void setUp() {
+        // test-courses.sql reloads the table behind Hibernate's back
+        cacheEvictor.evictAll();
+        javaId = courseRepository.findByCode("JAVA-101").orElseThrow().getId();
+    }
+
+    private double queryCacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("region", CacheConfig.QUERY_REGION)
+                .tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    private CourseRequest renamed(String name) {
+        CourseRequest request = new CourseRequest();
+        request.setCode("JAVA-101");
+        request.setName(name);
+        request.setDescription("Intro to Java");
+        request.setDuration(40);
+        request.setType(CourseType.PRESENCIAL);
+        request.setPrice(new BigDecimal("299.99"));
+        return request;
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromQueryCache() {
+        double before = queryCacheHits();
+
+        courseService.findById(javaId);
+        courseService.findById(javaId);
+
+        assertThat(queryCacheHits()).isGreaterThan(before);
+    }
+
+    @Test
+    void shouldSeeUpdatesThroughCachedReads() {
+        courseService.findById(javaId);
+        courseService.findAll(CourseType.PRESENCIAL, null, PageRequest.of(0, 10, Sort.by("id")));
+
+        courseService.update(javaId, renamed("Java Fundamentals 2026"));
+
+        assertThat(courseService.findById(javaId).getName()).isEqualTo("Java Fundamentals 2026");
+        assertThat(courseService.findAll(CourseType.PRESENCIAL, null, PageRequest.of(0, 10, Sort.by("id")))
+                .getContent()).extracting(CourseResponse::getName).contains("Java Fundamentals 2026");
+        assertThat(courseRepository.findById(javaId)).get().extracting(Course::getName)
+                .isEqualTo("Java Fundamentals 2026");
+    }
+
+    @Test
+    void shouldDropCachedResultsAfterDelete() {
+        PagedResponse<CourseResponse> before = courseService.findAll(null, null, PageRequest.of(0, 20, Sort.by("id")));
+
+        courseService.delete(javaId);
+
+        PagedResponse<CourseResponse> after = courseService.findAll(null, null, PageRequest.of(0, 20, Sort.by("id")));
+        assertThat(after.getTotalElements()).isEqualTo(before.getTotalElements() - 1);
+        assertThatThrownBy(() -> courseService.findById(javaId)).isInstanceOf(CourseNotFoundException.class);
+    }
+
+    @Test
+    void shouldEvictAfterBulkImportBypassingHibernate() {
+        courseService.findById(javaId);
+
+        importService.importCourses(CatalogFormat.CSV, new ByteArrayInputStream("""
+                code,name,description,duration,type,price
+                JAVA-101,Java importado,,40,PRESENCIAL,299.99
+                """.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(courseService.findById(javaId).getName()).isEqualTo("Java importado");
+    }
+}
@@ -0,0 +1,169 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CoursePatchRequest;
+import com.nuvixtech.courses.dto.CourseRequest;
+import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.CourseSuggestion;
+import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs without a test transaction: the catalog follows committed changes only.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "app.courses.catalog.enabled=true")
+@Sql("/test-courses.sql")
+class CourseCatalogTest {
+
+    @Autowired
+    private CourseCatalog catalog;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @BeforeEach
+    void setUp() {
+        // test-courses.sql is plain SQL, invisible to the change events
+        catalog.reload();
+    }
+
+    // changes are applied on the catalog's own thread
+    private void awaitChanges() throws InterruptedException {
+        AtomicInteger pending = (AtomicInteger) ReflectionTestUtils.getField(catalog, "pending");
+        for (int i = 0; i < 500 && pending.get() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(pending.get()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private PagedResponse<CourseResponse> fromCatalog(CourseType type, String name, PageRequest pageable) {
+        return (PagedResponse<CourseResponse>) catalog.findAll(type, name, pageable, TotalType.EXACT, null)
+                .orElseThrow();
+    }
+
+    // ── Parity Tests ───────────────────────────────────────────────
+
+    @Test
+    void shouldListLikeTheDatabase() {
+        for (CourseType type : Arrays.asList(null, CourseType.ONLINE, CourseType.PRESENCIAL)) {
+            for (String name : Arrays.asList(null, "JAVA", "analisis", "de")) {
+                for (String sort : new String[]{"id", "price", "duration"}) {
+                    for (int page = 0; page < 3; page++) {
+                        PageRequest pageable = PageRequest.of(page, 3, Sort.by(sort));
+                        PagedResponse<CourseResponse> expected = courseService.findAll(type, name, pageable);
+                        PagedResponse<CourseResponse> actual = fromCatalog(type, name, pageable);
+
+                        assertThat(actual.getContent()).as("%s %s %s page %d", type, name, sort, page)
+                                .usingRecursiveFieldByFieldElementComparator()
+                                .containsExactlyElementsOf(expected.getContent());
+                        assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements());
+                        assertThat(actual.isLast()).isEqualTo(expected.isLast());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldLeaveRelevanceRankingAndStringSortsToTheDatabase() {
+        assertThat(catalog.findAll(null, "java", PageRequest.of(0, 10), TotalType.EXACT, null)).isEmpty();
+        assertThat(catalog.findAll(null, "análisis", PageRequest.of(0, 10, Sort.by("id")), TotalType.EXACT, null))
+                .isEmpty();
+        assertThat(catalog.findAll(null, null, PageRequest.of(0, 10, Sort.by("name")), TotalType.EXACT, null))
+                .isEmpty();
+    }
+
+    // ── Change Tests ───────────────────────────────────────────────
+
+    @Test
+    void shouldFollowCommittedWrites() throws InterruptedException {
+        CourseRequest request = new CourseRequest();
+        request.setCode("CAT-001");
+        request.setName("Kotlin para Java");
+        request.setDuration(10);
+        request.setType(CourseType.ONLINE);
+        request.setPrice(new BigDecimal("9.99"));
+        Long created = courseService.create(request).getId();
+        Long javaId = courseRepository.findByCode("JAVA-101").orElseThrow().getId();
+
+        CoursePatchRequest patch = new CoursePatchRequest();
+        patch.setPrice(new BigDecimal("1.00"));
+        courseService.patch(javaId, patch);
+        courseService.delete(courseRepository.findByCode("JAVA-201").orElseThrow().getId());
+        awaitChanges();
+
+        PagedResponse<CourseResponse> page = fromCatalog(null, "java", PageRequest.of(0, 10, Sort.by("price")));
+        assertThat(page.getContent()).extracting(CourseResponse::getId).containsExactly(javaId, created);
+        assertThat(page.getContent().getFirst().getPrice()).isEqualByComparingTo("1.00");
+        assertThat(fromCatalog(null, null, PageRequest.of(0, 20)).getTotalElements()).isEqualTo(10);
+        assertThat(catalog.suggest("kotl", 5).orElseThrow()).extracting(CourseSuggestion::getCode)
+                .containsExactly("CAT-001");
+        assertThat(catalog.suggest("java-2", 5).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void shouldCommitWithoutWaitingForTheCatalogAndReadFromTheDatabaseMeanwhile() throws InterruptedException {
+        Long javaId = courseRepository.findByCode("JAVA-101").orElseThrow().getId();
+        CoursePatchRequest patch = new CoursePatchRequest();
+        patch.setPrice(new BigDecimal("1.00"));
+        ReentrantLock lock = (ReentrantLock) ReflectionTestUtils.getField(catalog, "lock");
+
+        lock.lock();
+        try {
+            courseService.patch(javaId, patch);
+            assertThat(catalog.findAll(null, null, PageRequest.of(0, 10), TotalType.EXACT, null)).isEmpty();
+            assertThat(catalog.suggest("java", 5)).isEmpty();
+        } finally {
+            lock.unlock();
+        }
+        awaitChanges();
+
+        assertThat(fromCatalog(null, null, PageRequest.of(0, 1, Sort.by("price"))).getContent().getFirst().getId())
+                .isEqualTo(javaId);
+    }
+
+    @Test
+    void shouldSuggestFromMemoryWithListingsInTheDatabase() {
+        ReflectionTestUtils.setField(catalog, "enabled", false);
+        try {
+            catalog.reload();
+            assertThat(catalog.findAll(null, null, PageRequest.of(0, 10), TotalType.EXACT, null)).isEmpty();
+            assertThat(catalog.suggest("java-1", 5).orElseThrow()).extracting(CourseSuggestion::getCode)
+                    .containsExactly("JAVA-101");
+        } finally {
+            ReflectionTestUtils.setField(catalog, "enabled", true);
+        }
+    }
+
+    @Test
+    void shouldStepAsideWhenTheCatalogIsTooLarge() {
+        ReflectionTestUtils.setField(catalog, "maxCourses", 5);
+        try {
+            catalog.reload();
+            assertThat(catalog.findAll(null, null, PageRequest.of(0, 10), TotalType.EXACT, null)).isEmpty();
+        } finally {
+            ReflectionTestUtils.setField(catalog, "maxCourses", 100_000);
+        }
+    }
+}
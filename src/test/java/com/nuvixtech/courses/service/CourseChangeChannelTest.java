@@ -0,0 +1,153 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseRequest;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Sql("/test-courses.sql")
+class CourseChangeChannelTest {
+
+    private static final long FAILING_ID = -42L;
+
+    @TestConfiguration
+    static class FailingListenerConfig {
+
+        @EventListener
+        void onCourseChanged(CourseChangedEvent event) {
+            if (event.id() != null && event.id() == FAILING_ID) {
+                throw new IllegalStateException("listener failed");
+            }
+        }
+    }
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseCacheEvictor cacheEvictor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Long javaId;
+
+    @BeforeEach
+    void setUp() {
+        cacheEvictor.evictAll();
+        javaId = courseRepository.findByCode("JAVA-101").orElseThrow().getId();
+    }
+
+    private Connection listenerConnection() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        Connection connection = DriverManager.getConnection(pool.getJdbcUrl(), pool.getUsername(), pool.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN course_changes");
+        }
+        return connection;
+    }
+
+    // ── Payload Tests ──────────────────────────────────────────────
+
+    @Test
+    void shouldRoundTripChangesFromOtherNodes() {
+        String payload = CourseChangeChannel.encode("node-a", CourseChangedEvent.updated(7L));
+
+        assertThat(CourseChangeChannel.decode("node-b", payload)).isEqualTo(CourseChangedEvent.updated(7L));
+        assertThat(CourseChangeChannel.decode("node-b", CourseChangeChannel.encode("node-a", CourseChangedEvent.bulk())))
+                .isEqualTo(CourseChangedEvent.bulk());
+    }
+
+    @Test
+    void shouldIgnoreOwnChangesAndFlushOnUnreadablePayloads() {
+        assertThat(CourseChangeChannel.decode("node-a", "node-a|DELETED|3")).isNull();
+        assertThat(CourseChangeChannel.decode("node-a", "garbage")).isEqualTo(CourseChangedEvent.bulk());
+        assertThat(CourseChangeChannel.decode("node-a", "node-b|RENAMED|3")).isEqualTo(CourseChangedEvent.bulk());
+    }
+
+    // ── Channel Tests ──────────────────────────────────────────────
+
+    @Test
+    void shouldNotifyOnCommittedWrites() throws Exception {
+        try (Connection listener = listenerConnection()) {
+            CourseRequest request = new CourseRequest();
+            request.setCode("JAVA-101");
+            request.setName("Java Fundamentals 2026");
+            request.setDuration(40);
+            request.setType(CourseType.PRESENCIAL);
+            request.setPrice(new BigDecimal("299.99"));
+            courseService.update(javaId, request);
+
+            PGNotification[] notifications = listener.unwrap(PGConnection.class).getNotifications(5000);
+
+            assertThat(notifications).isNotNull();
+            assertThat(Arrays.stream(notifications).map(PGNotification::getParameter))
+                    .anyMatch(payload -> payload.endsWith("|UPDATED|" + javaId));
+        }
+    }
+
+    @Test
+    void shouldEvictCachedCourseWhenAnotherNodeChangesIt() throws Exception {
+        assertThat(courseService.findById(javaId).getName()).isEqualTo("Java Fundamentals");
+
+        // Another node: a committed write this node's Hibernate never saw, then its notification
+        jdbcTemplate.update("UPDATE courses SET name = 'Renamed elsewhere' WHERE id = ?", javaId);
+        jdbcTemplate.query("SELECT pg_notify('course_changes', ?)", rs -> { }, "other-node|UPDATED|" + javaId);
+
+        String name = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            name = courseService.findById(javaId).getName();
+            if (name.equals("Renamed elsewhere")) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertThat(name).isEqualTo("Renamed elsewhere");
+    }
+
+    @Test
+    void shouldKeepRelayingAfterListenerFails() throws Exception {
+        assertThat(courseService.findById(javaId).getName()).isEqualTo("Java Fundamentals");
+
+        jdbcTemplate.query("SELECT pg_notify('course_changes', ?)", rs -> { }, "other-node|UPDATED|" + FAILING_ID);
+        jdbcTemplate.update("UPDATE courses SET name = 'Renamed after failure' WHERE id = ?", javaId);
+        jdbcTemplate.query("SELECT pg_notify('course_changes', ?)", rs -> { }, "other-node|UPDATED|" + javaId);
+
+        String name = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            name = courseService.findById(javaId).getName();
+            if (name.equals("Renamed after failure")) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertThat(name).isEqualTo("Renamed after failure");
+    }
+}
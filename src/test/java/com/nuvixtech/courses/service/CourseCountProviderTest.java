@@ -0,0 +1,94 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseCountProviderTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private CourseCountProvider countProvider;
+
+    @Test
+    void shouldCacheExactCountPerFilter() {
+        given(courseRepository.countByType(CourseType.ONLINE)).willReturn(5L);
+
+        countProvider.count(TotalType.CACHED, CourseType.ONLINE, null);
+        CourseCountProvider.Total total = countProvider.count(TotalType.CACHED, CourseType.ONLINE, null);
+
+        assertThat(total.value()).isEqualTo(5);
+        assertThat(total.type()).isEqualTo(TotalType.CACHED);
+        then(courseRepository).should(times(1)).countByType(CourseType.ONLINE);
+    }
+
+    @Test
+    void shouldDropCachedCountsOnChange() {
+        given(courseRepository.count()).willReturn(10L, 11L);
+
+        countProvider.count(TotalType.CACHED, null, null);
+        countProvider.onCourseChanged(CourseChangedEvent.created(11L));
+
+        assertThat(countProvider.count(TotalType.CACHED, null, null).value()).isEqualTo(11);
+    }
+
+    @Test
+    void shouldNotKeepCountThatRacedWithChange() {
+        given(courseRepository.count()).willAnswer(invocation -> {
+            countProvider.onCourseChanged(CourseChangedEvent.created(11L));
+            return 10L;
+        }).willReturn(11L);
+
+        assertThat(countProvider.count(TotalType.CACHED, null, null).value()).isEqualTo(10);
+        assertThat(countProvider.count(TotalType.CACHED, null, null).value()).isEqualTo(11);
+        then(courseRepository).should(times(2)).count();
+    }
+
+    @Test
+    void shouldUseReltuplesEstimateForUnfilteredListing() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).willReturn(120_000L);
+
+        CourseCountProvider.Total total = countProvider.count(TotalType.ESTIMATED, null, null);
+
+        assertThat(total.value()).isEqualTo(120_000);
+        assertThat(total.type()).isEqualTo(TotalType.ESTIMATED);
+        then(courseRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldFallBackToCachedCountWhenTableNeverAnalyzed() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).willReturn(-1L);
+        given(courseRepository.count()).willReturn(10L);
+
+        CourseCountProvider.Total total = countProvider.count(TotalType.ESTIMATED, null, null);
+
+        assertThat(total.value()).isEqualTo(10);
+        assertThat(total.type()).isEqualTo(TotalType.CACHED);
+    }
+
+    @Test
+    void shouldNotEstimateFilteredListings() {
+        given(courseRepository.countSearch(null, "java")).willReturn(2L);
+
+        CourseCountProvider.Total total = countProvider.count(TotalType.ESTIMATED, null, "java");
+
+        assertThat(total.type()).isEqualTo(TotalType.CACHED);
+        then(jdbcTemplate).shouldHaveNoInteractions();
+    }
+}
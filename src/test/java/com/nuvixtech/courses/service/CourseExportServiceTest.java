@@ -0,0 +1,82 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CatalogFormat;
+import com.nuvixtech.courses.model.Course;
+import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseExportServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private CourseExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new CourseExportService(courseRepository, JsonMapper.builder().build());
+        ReflectionTestUtils.setField(exportService, "entityManager", entityManager);
+    }
+
+    private Course buildCourse(Long id, String description) {
+        return Course.builder()
+                .id(id)
+                .code("JAVA-10" + id)
+                .name("Java Fundamentals")
+                .description(description)
+                .duration(40)
+                .type(CourseType.PRESENCIAL)
+                .price(new BigDecimal("299.99"))
+                .build();
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLineAndDetachEachRow() throws Exception {
+        Course first = buildCourse(1L, "Intro");
+        Course second = buildCourse(2L, null);
+        given(courseRepository.streamAll()).willReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(CatalogFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":1").contains("\"code\":\"JAVA-101\"").contains("\"price\":299.99");
+        then(entityManager).should().detach(first);
+        then(entityManager).should().detach(second);
+    }
+
+    @Test
+    void shouldWriteCsvWithHeaderAndQuotedFields() throws Exception {
+        given(courseRepository.streamAll())
+                .willReturn(Stream.of(buildCourse(1L, "Java, \"desde cero\"")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(CatalogFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,code,name,description,duration,type,price\n"
+                        + "1,JAVA-101,Java Fundamentals,\"Java, \"\"desde cero\"\"\",40,PRESENCIAL,299.99\n");
+    }
+}
@@ -0,0 +1,143 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseRequest;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.exception.CourseNotFoundException;
+import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs without a test transaction: the filter follows committed changes only.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Sql("/test-courses.sql")
+class CourseIdFilterTest {
+
+    @Autowired
+    private CourseIdFilter idFilter;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long javaId;
+    private long maxId;
+
+    @BeforeEach
+    void setUp() {
+        // every row of test-courses.sql takes a block of its own: with open blocks none would be filtered
+        ReflectionTestUtils.setField(idFilter, "openBlocks", 0);
+        // test-courses.sql reloads the table with new ids, invisible to the change events
+        idFilter.rebuild();
+        javaId = courseRepository.findByCode("JAVA-101").orElseThrow().getId();
+        maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM courses", Long.class);
+    }
+
+    @AfterEach
+    void restoreOpenBlocks() {
+        ReflectionTestUtils.setField(idFilter, "openBlocks", 20);
+    }
+
+    private double rejected() {
+        return meterRegistry.get("courses.id.filter.rejected").counter().count();
+    }
+
+    @Test
+    void shouldKnowExistingAndMissingIdsUpToTheHighest() {
+        assertThat(idFilter.isAbsent(javaId)).isFalse();
+        assertThat(idFilter.isAbsent(maxId)).isFalse();
+        assertThat(idFilter.isAbsent(javaId - 1)).isTrue();
+        assertThat(idFilter.isAbsent(-1L)).isFalse();
+        assertThat(idFilter.isAbsent(null)).isFalse();
+    }
+
+    @Test
+    void shouldFollowCreatesAndLeaveNewerIdsToTheDatabase() {
+        CourseRequest request = new CourseRequest();
+        request.setCode("FILT-001");
+        request.setName("Filtro");
+        request.setDuration(1);
+        request.setType(CourseType.ONLINE);
+        request.setPrice(new BigDecimal("1.00"));
+        Long created = courseService.create(request).getId();
+
+        // the id may come from a block Hibernate fetched before test-courses.sql ran, below maxId
+        assertThat(idFilter.isAbsent(created)).isFalse();
+        assertThat(idFilter.isAbsent(maxId + 1)).isFalse();
+        assertThat(courseService.findById(created).getCode()).isEqualTo("FILT-001");
+    }
+
+    @Test
+    void shouldLeaveIdsInOpenSequenceBlocksToTheDatabase() {
+        // the sequence is at maxId: with two open blocks, ids above maxId - 100 are not filtered
+        ReflectionTestUtils.setField(idFilter, "openBlocks", 2);
+        idFilter.rebuild();
+
+        assertThat(idFilter.isAbsent(maxId - 1)).isFalse();
+        assertThat(idFilter.isAbsent(maxId - 99)).isFalse();
+        assertThat(idFilter.isAbsent(javaId - 1)).isTrue();
+    }
+
+    @Test
+    void shouldNotReportIdsAbsentAfterBulkChangeBeforeRebuild() {
+        // another node created javaId - 1 from an old block and only a bulk change announced it
+        jdbcTemplate.update("INSERT INTO courses (id, code, name, duration, type, price) "
+                + "VALUES (?, 'BULK-001', 'Masivo', 1, 'ONLINE', 1.00)", javaId - 1);
+
+        idFilter.onCourseChanged(CourseChangedEvent.bulk());
+
+        assertThat(idFilter.isAbsent(javaId - 1)).isFalse();
+    }
+
+    @Test
+    void shouldKnowIdsMarkedAsCreatedBeforeCommit() {
+        jdbcTemplate.update("INSERT INTO courses (id, code, name, duration, type, price) "
+                + "VALUES (?, 'BATCH-001', 'Lote', 1, 'ONLINE', 1.00)", javaId - 1);
+
+        idFilter.created(List.of(javaId - 1));
+
+        assertThat(idFilter.isAbsent(javaId - 1)).isFalse();
+    }
+
+    @Test
+    void shouldAnswerDeletedIdsWithoutQuerying() {
+        courseService.delete(javaId);
+        double before = rejected();
+
+        assertThatThrownBy(() -> courseService.findById(javaId)).isInstanceOf(CourseNotFoundException.class);
+        assertThatThrownBy(() -> courseService.delete(javaId)).isInstanceOf(CourseNotFoundException.class);
+        assertThat(rejected()).isEqualTo(before + 2);
+    }
+
+    @Test
+    void shouldPickUpRowsRemovedBehindItsBackOnRebuild() {
+        jdbcTemplate.update("DELETE FROM courses WHERE id = ?", javaId);
+        assertThat(idFilter.isAbsent(javaId)).isFalse();
+
+        idFilter.rebuild();
+
+        assertThat(idFilter.isAbsent(javaId)).isTrue();
+    }
+}
@@ -0,0 +1,96 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CatalogFormat;
+import com.nuvixtech.courses.dto.ImportResponse;
+import com.nuvixtech.courses.exception.InvalidImportException;
+import com.nuvixtech.courses.model.Course;
+import com.nuvixtech.courses.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Transactional
+@Sql("/test-courses.sql")
+class CourseImportServiceTest {
+
+    @Autowired
+    private CourseImportService importService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private InputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldInsertNewAndMergeExistingCodesFromCsv() {
+        ImportResponse result = importService.importCourses(CatalogFormat.CSV, upload("""
+                code,name,description,duration,type,price
+                JAVA-101,Java Fundamentals 2026,"Nueva edición, con \"\"records\"\"",42,PRESENCIAL,319.99
+                GO-101,Go desde cero,,30,ONLINE,199.00
+                """));
+
+        assertThat(result.getReceived()).isEqualTo(2);
+        assertThat(result.getAccepted()).isEqualTo(2);
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(courseRepository.count()).isEqualTo(11);
+
+        Course java = courseRepository.findByCode("JAVA-101").orElseThrow();
+        assertThat(java.getName()).isEqualTo("Java Fundamentals 2026");
+        assertThat(java.getDescription()).isEqualTo("Nueva edición, con \"records\"");
+        assertThat(courseRepository.findByCode("GO-101").orElseThrow().getDescription()).isNull();
+    }
+
+    @Test
+    void shouldRejectInvalidNdjsonRowsAndLoadTheRest() {
+        ImportResponse result = importService.importCourses(CatalogFormat.NDJSON, upload("""
+                {"code":"RUST-101","name":"Rust","duration":20,"type":"ONLINE","price":99.9}
+                {"code":"","name":"Sin código","duration":20,"type":"ONLINE","price":99.9}
+                not json
+
+                {"code":"RUST-101","name":"Rust (rev)","duration":25,"type":"ONLINE","price":109.9}
+                """));
+
+        assertThat(result.getReceived()).isEqualTo(4);
+        assertThat(result.getAccepted()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting("index").containsExactly(1, 2);
+        assertThat(result.getErrors().get(0).getErrors()).containsEntry("code", "El código es obligatorio");
+
+        Course rust = courseRepository.findByCode("RUST-101").orElseThrow();
+        assertThat(rust.getName()).isEqualTo("Rust (rev)");
+        assertThat(rust.getPrice()).isEqualByComparingTo(new BigDecimal("109.90"));
+    }
+
+    @Test
+    void shouldReportUnparseableCsvValues() {
+        ImportResponse result = importService.importCourses(CatalogFormat.CSV, upload("""
+                code,name,duration,type,price
+                X-1,Curso,diez,HIBRIDO,10
+                """));
+
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getErrors()).containsKeys("duration", "type");
+        assertThat(courseRepository.count()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldRequireCsvHeaderColumns() {
+        assertThatThrownBy(() -> importService.importCourses(CatalogFormat.CSV, upload("code,name\nX-1,Curso\n")))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("duration");
+    }
+}
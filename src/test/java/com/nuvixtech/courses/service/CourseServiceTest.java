@@ -1,25 +1,48 @@
 package com.nuvixtech.courses.service;
 
+import com.nuvixtech.courses.dto.CourseField;
+import com.nuvixtech.courses.dto.CourseLookupResponse;
+import com.nuvixtech.courses.dto.CoursePatchRequest;
 import com.nuvixtech.courses.dto.CourseRequest;
 import com.nuvixtech.courses.dto.CourseResponse;
+import com.nuvixtech.courses.dto.CourseSuggestion;
+import com.nuvixtech.courses.dto.CursorResponse;
 import com.nuvixtech.courses.dto.PagedResponse;
+import com.nuvixtech.courses.dto.TotalType;
+import com.nuvixtech.courses.dto.UpsertedCourse;
+import com.nuvixtech.courses.event.CourseChangedEvent;
+import com.nuvixtech.courses.exception.BatchTooLargeException;
 import com.nuvixtech.courses.exception.CourseNotFoundException;
+import com.nuvixtech.courses.exception.CourseValidationException;
+import com.nuvixtech.courses.exception.InvalidCursorException;
+import com.nuvixtech.courses.exception.InvalidFieldsException;
 import com.nuvixtech.courses.model.Course;
 import com.nuvixtech.courses.model.CourseType;
+import com.nuvixtech.courses.repository.CourseQueryRepository;
 import com.nuvixtech.courses.repository.CourseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.BDDMockito.*;
@@ -30,6 +53,24 @@ class CourseServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private CourseCountProvider countProvider;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CourseIdFilter idFilter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private CourseMetrics metrics = new CourseMetrics(meterRegistry);
+
+    @Spy
+    private CourseRequestValidator validator =
+            new CourseRequestValidator(Validation.buildDefaultValidatorFactory().getValidator());
+
     @InjectMocks
     private CourseService courseService;
 
@@ -47,6 +88,10 @@ class CourseServiceTest {
                 .build();
     }
 
+    private CourseResponse buildResponse(Long id) {
+        return CourseService.toResponse(buildCourse(id));
+    }
+
     private CourseRequest buildRequest() {
         CourseRequest request = new CourseRequest();
         request.setCode("JAVA-101");
@@ -62,8 +107,8 @@ class CourseServiceTest {
 
     @Test
     void shouldReturnAllCourses() {
-        Page<Course> coursePage = new PageImpl<>(List.of(buildCourse(1L), buildCourse(2L)));
-        given(courseRepository.findAll(pageable)).willReturn(coursePage);
+        Page<CourseResponse> coursePage = new PageImpl<>(List.of(buildResponse(1L), buildResponse(2L)));
+        given(courseRepository.findResponsePage(pageable)).willReturn(coursePage);
 
         PagedResponse<CourseResponse> result = courseService.findAll(null, null, pageable);
 
@@ -73,7 +118,7 @@ class CourseServiceTest {
 
     @Test
     void shouldFindCourseById() {
-        given(courseRepository.findById(1L)).willReturn(Optional.of(buildCourse(1L)));
+        given(courseRepository.findResponseById(1L)).willReturn(Optional.of(buildResponse(1L)));
 
         CourseResponse result = courseService.findById(1L);
 
@@ -84,7 +129,7 @@ class CourseServiceTest {
 
     @Test
     void shouldThrowWhenCourseNotFoundById() {
-        given(courseRepository.findById(99L)).willReturn(Optional.empty());
+        given(courseRepository.findResponseById(99L)).willReturn(Optional.empty());
 
         assertThatThrownBy(() -> courseService.findById(99L))
                 .isInstanceOf(CourseNotFoundException.class)
@@ -105,22 +150,21 @@ class CourseServiceTest {
 
     @Test
     void shouldUpdateCourse() {
-        Course existing = buildCourse(1L);
-        given(courseRepository.findById(1L)).willReturn(Optional.of(existing));
-        given(courseRepository.save(existing)).willReturn(existing);
-
         CourseRequest request = buildRequest();
         request.setName("Updated Java");
+        given(courseRepository.updateFields(eq(1L), anyMap())).willReturn(Optional.of(buildResponse(1L)));
 
         CourseResponse result = courseService.update(1L, request);
 
         assertThat(result).isNotNull();
-        then(courseRepository).should().save(existing);
+        then(courseRepository).should().updateFields(eq(1L), argThat(values ->
+                values.size() == 6 && "Updated Java".equals(values.get(CourseField.NAME))));
+        then(courseRepository).should(never()).findById(any());
     }
 
     @Test
     void shouldThrowOnUpdateWhenCourseNotFound() {
-        given(courseRepository.findById(99L)).willReturn(Optional.empty());
+        given(courseRepository.updateFields(eq(99L), anyMap())).willReturn(Optional.empty());
 
         assertThatThrownBy(() -> courseService.update(99L, buildRequest()))
                 .isInstanceOf(CourseNotFoundException.class);
@@ -128,77 +172,246 @@ class CourseServiceTest {
 
     @Test
     void shouldDeleteCourse() {
-        given(courseRepository.existsById(1L)).willReturn(true);
-        willDoNothing().given(courseRepository).deleteById(1L);
+        given(courseRepository.deleteCourse(1L)).willReturn(1);
 
         courseService.delete(1L);
 
-        then(courseRepository).should().deleteById(1L);
+        then(courseRepository).should().deleteCourse(1L);
+        then(courseRepository).should(never()).existsById(any());
     }
 
     @Test
     void shouldThrowOnDeleteWhenCourseNotFound() {
-        given(courseRepository.existsById(99L)).willReturn(false);
+        given(courseRepository.deleteCourse(99L)).willReturn(0);
+
+        assertThatThrownBy(() -> courseService.delete(99L))
+                .isInstanceOf(CourseNotFoundException.class)
+                .hasMessageContaining("99");
+    }
+
+    // ── Id Filter Tests ────────────────────────────────────────────
 
+    @Test
+    void shouldAnswerMissingIdsFromFilterWithoutQuerying() {
+        given(idFilter.isAbsent(99L)).willReturn(true);
+        CoursePatchRequest patch = new CoursePatchRequest();
+        patch.setName("Nuevo nombre");
+
+        assertThatThrownBy(() -> courseService.findById(99L)).isInstanceOf(CourseNotFoundException.class);
+        assertThatThrownBy(() -> courseService.findById(99L, EnumSet.of(CourseField.ID)))
+                .isInstanceOf(CourseNotFoundException.class);
+        assertThatThrownBy(() -> courseService.update(99L, buildRequest())).isInstanceOf(CourseNotFoundException.class);
+        assertThatThrownBy(() -> courseService.patch(99L, patch)).isInstanceOf(CourseNotFoundException.class);
         assertThatThrownBy(() -> courseService.delete(99L))
                 .isInstanceOf(CourseNotFoundException.class)
                 .hasMessageContaining("99");
+        then(courseRepository).shouldHaveNoInteractions();
+        then(eventPublisher).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldNotCaptureStackTraceForMissingCourses() {
+        assertThat(new CourseNotFoundException(1L).getStackTrace()).isEmpty();
+    }
+
+    // ── Patch Tests ────────────────────────────────────────────────
+
+    @Test
+    void shouldPatchOnlyPresentFields() {
+        CoursePatchRequest request = new CoursePatchRequest();
+        request.setPrice(new BigDecimal("199.99"));
+        request.setType(CourseType.ONLINE);
+        given(courseRepository.updateFields(eq(1L), anyMap())).willReturn(Optional.of(buildResponse(1L)));
+
+        courseService.patch(1L, request);
+
+        then(courseRepository).should().updateFields(1L,
+                Map.of(CourseField.PRICE, new BigDecimal("199.99"), CourseField.TYPE, CourseType.ONLINE));
+        then(eventPublisher).should().publishEvent(CourseChangedEvent.updated(1L));
+    }
+
+    @Test
+    void shouldThrowOnPatchWhenCourseNotFound() {
+        CoursePatchRequest request = new CoursePatchRequest();
+        request.setName("Nuevo nombre");
+        given(courseRepository.updateFields(eq(99L), anyMap())).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> courseService.patch(99L, request))
+                .isInstanceOf(CourseNotFoundException.class);
+        then(eventPublisher).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldRejectEmptyPatch() {
+        assertThatThrownBy(() -> courseService.patch(1L, new CoursePatchRequest()))
+                .isInstanceOf(InvalidFieldsException.class);
+        then(courseRepository).shouldHaveNoInteractions();
+    }
+
+    // ── Lookup Tests ───────────────────────────────────────────────
+
+    @Test
+    void shouldLookUpInRequestOrderAndReportMissingKeys() {
+        CourseResponse java = buildResponse(1L);
+        CourseResponse python = CourseResponse.builder().id(2L).code("PYTH-101").build();
+        given(courseRepository.findByIdsOrCodes(Set.of(2L, 99L, 1L), Set.of("JAVA-101", "NOPE")))
+                .willReturn(List.of(java, python));
+
+        CourseLookupResponse result = courseService.lookup(List.of(2L, 99L, 1L, 2L), List.of("JAVA-101", "NOPE"));
+
+        assertThat(result.getCourses()).extracting(CourseResponse::getId).containsExactly(2L, 1L);
+        assertThat(result.getMissingIds()).containsExactly(99L);
+        assertThat(result.getMissingCodes()).containsExactly("NOPE");
+    }
+
+    @Test
+    void shouldSkipTheQueryForAnEmptyLookup() {
+        CourseLookupResponse result = courseService.lookup(null, List.of());
+
+        assertThat(result.getCourses()).isEmpty();
+        then(courseRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldRejectLookupOverLimit() {
+        ReflectionTestUtils.setField(courseService, "maxLookupKeys", 2);
+
+        assertThatThrownBy(() -> courseService.lookup(List.of(1L, 2L), List.of("JAVA-101")))
+                .isInstanceOf(BatchTooLargeException.class);
+    }
+
+    // ── Suggest Tests ──────────────────────────────────────────────
+
+    @Test
+    void shouldSuggestFromRelevanceSearchWithCappedLimit() {
+        given(courseRepository.searchSlice(isNull(), eq("jav"), any(Pageable.class)))
+                .willReturn(new SliceImpl<>(List.of(buildResponse(1L))));
+
+        List<CourseSuggestion> result = courseService.suggest("jav", 500);
+
+        assertThat(result).extracting(CourseSuggestion::getCode).containsExactly("JAVA-101");
+        then(courseRepository).should().searchSlice(isNull(), eq("jav"),
+                eq(PageRequest.of(0, CourseService.MAX_SUGGESTIONS, Sort.by(CourseQueryRepository.RELEVANCE))));
+    }
+
+    @Test
+    void shouldSuggestNothingForBlankQuery() {
+        assertThat(courseService.suggest(" ", 10)).isEmpty();
+        then(courseRepository).shouldHaveNoInteractions();
+    }
+
+    // ── Upsert Tests ───────────────────────────────────────────────
+
+    @Test
+    void shouldUpsertUnderThePathCode() {
+        CourseRequest request = buildRequest();
+        request.setCode("OTHER-1");
+        given(courseRepository.upsertByCode(anyList()))
+                .willReturn(List.of(new UpsertedCourse(buildResponse(1L), false)));
+
+        UpsertedCourse result = courseService.upsert("JAVA-101", request);
+
+        assertThat(result.inserted()).isFalse();
+        then(courseRepository).should().upsertByCode(argThat(requests ->
+                requests.size() == 1 && "JAVA-101".equals(requests.get(0).getCode())));
+        then(eventPublisher).should().publishEvent(CourseChangedEvent.updated(1L));
+    }
+
+    @Test
+    void shouldPublishCreatedWhenUpsertInserts() {
+        given(courseRepository.upsertByCode(anyList()))
+                .willReturn(List.of(new UpsertedCourse(buildResponse(7L), true)));
+
+        courseService.upsert("JAVA-101", buildRequest());
+
+        then(eventPublisher).should().publishEvent(CourseChangedEvent.created(7L));
+    }
+
+    @Test
+    void shouldRejectInvalidUpsertBeforeWriting() {
+        CourseRequest request = buildRequest();
+        request.setPrice(null);
+
+        assertThatThrownBy(() -> courseService.upsert("JAVA-101", request))
+                .isInstanceOf(CourseValidationException.class)
+                .extracting("errors").asInstanceOf(MAP).containsEntry("price", "El precio es obligatorio");
+        then(courseRepository).shouldHaveNoInteractions();
     }
 
     // ── Sprint 3 — Filtros y Paginación Tests ──────────────────────
 
     @Test
     void shouldFilterByType() {
-        Page<Course> coursePage = new PageImpl<>(List.of(buildCourse(1L)));
-        given(courseRepository.findByType(CourseType.PRESENCIAL, pageable)).willReturn(coursePage);
+        Page<CourseResponse> coursePage = new PageImpl<>(List.of(buildResponse(1L)));
+        given(courseRepository.findResponsePageByType(CourseType.PRESENCIAL, pageable)).willReturn(coursePage);
 
         PagedResponse<CourseResponse> result = courseService.findAll(CourseType.PRESENCIAL, null, pageable);
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getType()).isEqualTo(CourseType.PRESENCIAL);
-        then(courseRepository).should().findByType(CourseType.PRESENCIAL, pageable);
+        then(courseRepository).should().findResponsePageByType(CourseType.PRESENCIAL, pageable);
     }
 
     @Test
     void shouldFilterByName() {
-        Page<Course> coursePage = new PageImpl<>(List.of(buildCourse(1L)));
-        given(courseRepository.findByNameContainingIgnoreCase("java", pageable)).willReturn(coursePage);
+        Page<CourseResponse> coursePage = new PageImpl<>(List.of(buildResponse(1L)));
+        given(courseRepository.search(null, "java", pageable)).willReturn(coursePage);
 
         PagedResponse<CourseResponse> result = courseService.findAll(null, "java", pageable);
 
         assertThat(result.getContent()).hasSize(1);
-        then(courseRepository).should().findByNameContainingIgnoreCase("java", pageable);
+        then(courseRepository).should().search(null, "java", pageable);
     }
 
     @Test
     void shouldFilterByTypeAndName() {
-        Page<Course> coursePage = new PageImpl<>(List.of(buildCourse(1L)));
-        given(courseRepository.findByTypeAndNameContainingIgnoreCase(CourseType.PRESENCIAL, "java", pageable))
-                .willReturn(coursePage);
+        Page<CourseResponse> coursePage = new PageImpl<>(List.of(buildResponse(1L)));
+        given(courseRepository.search(CourseType.PRESENCIAL, "java", pageable)).willReturn(coursePage);
 
         PagedResponse<CourseResponse> result = courseService.findAll(CourseType.PRESENCIAL, "java", pageable);
 
         assertThat(result.getContent()).hasSize(1);
-        then(courseRepository).should()
-                .findByTypeAndNameContainingIgnoreCase(CourseType.PRESENCIAL, "java", pageable);
+        then(courseRepository).should().search(CourseType.PRESENCIAL, "java", pageable);
+    }
+
+    @Test
+    void shouldFallBackToIdOrderWhenSortingByRelevanceWithoutSearchText() {
+        Pageable byRelevance = PageRequest.of(0, 10, Sort.by("relevance"));
+        given(courseRepository.findResponsePage(PageRequest.of(0, 10, Sort.by("id"))))
+                .willReturn(new PageImpl<>(List.of(buildResponse(1L))));
+
+        PagedResponse<CourseResponse> result = courseService.findAll(null, null, byRelevance);
+
+        assertThat(result.getContent()).hasSize(1);
+    }
+
+    @Test
+    void shouldUseSearchSliceWhenCountIsSkipped() {
+        given(courseRepository.searchSlice(null, "python", pageable))
+                .willReturn(new SliceImpl<>(List.of(buildResponse(1L)), pageable, false));
+
+        PagedResponse<CourseResponse> result = courseService.findAll(null, "python", pageable, TotalType.NONE);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isLast()).isTrue();
     }
 
     @Test
     void shouldIgnoreBlankNameFilter() {
-        Page<Course> coursePage = new PageImpl<>(List.of(buildCourse(1L)));
-        given(courseRepository.findAll(pageable)).willReturn(coursePage);
+        Page<CourseResponse> coursePage = new PageImpl<>(List.of(buildResponse(1L)));
+        given(courseRepository.findResponsePage(pageable)).willReturn(coursePage);
 
         PagedResponse<CourseResponse> result = courseService.findAll(null, "   ", pageable);
 
         assertThat(result.getContent()).hasSize(1);
-        then(courseRepository).should().findAll(pageable);
+        then(courseRepository).should().findResponsePage(pageable);
     }
 
     @Test
     void shouldReturnPaginationMetadata() {
-        List<Course> courses = List.of(buildCourse(1L), buildCourse(2L), buildCourse(3L));
-        Page<Course> coursePage = new PageImpl<>(courses, pageable, 25);
-        given(courseRepository.findAll(pageable)).willReturn(coursePage);
+        List<CourseResponse> courses = List.of(buildResponse(1L), buildResponse(2L), buildResponse(3L));
+        Page<CourseResponse> coursePage = new PageImpl<>(courses, pageable, 25);
+        given(courseRepository.findResponsePage(pageable)).willReturn(coursePage);
 
         PagedResponse<CourseResponse> result = courseService.findAll(null, null, pageable);
 
@@ -207,4 +420,182 @@ class CourseServiceTest {
         assertThat(result.getTotalElements()).isEqualTo(25);
         assertThat(result.getTotalPages()).isEqualTo(3);
     }
+
+    // ── Slice y Totales Tests ──────────────────────────────────────
+
+    @Test
+    void shouldSkipCountWhenTotalIsNone() {
+        given(courseRepository.findResponseSliceByType(CourseType.ONLINE, pageable))
+                .willReturn(new SliceImpl<>(List.of(buildResponse(1L)), pageable, true));
+
+        PagedResponse<CourseResponse> result =
+                courseService.findAll(CourseType.ONLINE, null, pageable, TotalType.NONE);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalType()).isEqualTo(TotalType.NONE);
+        assertThat(result.getTotalElements()).isEqualTo(-1);
+        assertThat(result.isLast()).isFalse();
+        then(courseRepository).should(never()).findResponsePageByType(any(), any());
+        then(countProvider).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldUseCountProviderForCachedTotals() {
+        given(courseRepository.findResponseSlice(pageable))
+                .willReturn(new SliceImpl<>(List.of(buildResponse(1L)), pageable, true));
+        given(countProvider.count(TotalType.CACHED, null, null))
+                .willReturn(new CourseCountProvider.Total(25, TotalType.CACHED));
+
+        PagedResponse<CourseResponse> result = courseService.findAll(null, null, pageable, TotalType.CACHED);
+
+        assertThat(result.getTotalElements()).isEqualTo(25);
+        assertThat(result.getTotalPages()).isEqualTo(3);
+        assertThat(result.getTotalType()).isEqualTo(TotalType.CACHED);
+    }
+
+    @Test
+    void shouldReportExactTotalsByDefault() {
+        given(courseRepository.findResponsePage(pageable)).willReturn(new PageImpl<>(List.of(buildResponse(1L))));
+
+        PagedResponse<CourseResponse> result = courseService.findAll(null, null, pageable);
+
+        assertThat(result.getTotalType()).isEqualTo(TotalType.EXACT);
+    }
+
+    @Test
+    void shouldPublishChangeEventOnWrites() {
+        given(courseRepository.save(any(Course.class))).willReturn(buildCourse(1L));
+        given(courseRepository.deleteCourse(1L)).willReturn(1);
+
+        courseService.create(buildRequest());
+        courseService.delete(1L);
+
+        then(eventPublisher).should().publishEvent(CourseChangedEvent.created(1L));
+        then(eventPublisher).should().publishEvent(CourseChangedEvent.deleted(1L));
+    }
+
+    // ── Keyset Pagination Tests ────────────────────────────────────
+
+    @Test
+    void shouldScrollFirstPageWithoutCursor() {
+        given(courseRepository.findAfter(null, null, "id", null, null, 3))
+                .willReturn(List.of(buildResponse(1L), buildResponse(2L), buildResponse(3L)));
+
+        CursorResponse<CourseResponse> result = courseService.scroll(null, null, "id", null, 2);
+
+        assertThat(result.getContent()).extracting(CourseResponse::getId).containsExactly(1L, 2L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo(new CourseCursor("id", 2L, 2L).encode());
+    }
+
+    @Test
+    void shouldScrollFromDecodedCursor() {
+        String after = new CourseCursor("price", new BigDecimal("299.99"), 7L).encode();
+        given(courseRepository.findAfter(CourseType.ONLINE, null, "price", new BigDecimal("299.99"), 7L, 11))
+                .willReturn(List.of(buildResponse(8L)));
+
+        CursorResponse<CourseResponse> result = courseService.scroll(CourseType.ONLINE, null, "price", after, 10);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectCursorIssuedForAnotherSort() {
+        String after = new CourseCursor("name", "Java Fundamentals", 1L).encode();
+
+        assertThatThrownBy(() -> courseService.scroll(null, null, "id", after, 10))
+                .isInstanceOf(InvalidCursorException.class);
+        then(courseRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> courseService.scroll(null, null, "id", "not-a-cursor!", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void shouldRejectUnsortableFieldForScroll() {
+        assertThatThrownBy(() -> courseService.scroll(null, null, "description", null, 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    // ── Sparse Fieldset Tests ──────────────────────────────────────
+
+    @Test
+    void shouldListRequestedFieldsOnly() {
+        Set<CourseField> fields = EnumSet.of(CourseField.ID, CourseField.NAME);
+        given(courseRepository.findFields(fields, CourseType.ONLINE, null, pageable))
+                .willReturn(new PageImpl<>(List.of(Map.of("id", 1L, "name", "Java Fundamentals"))));
+
+        PagedResponse<Map<String, Object>> result =
+                courseService.findAll(CourseType.ONLINE, " ", pageable, TotalType.EXACT, fields);
+
+        assertThat(result.getContent()).containsExactly(Map.of("id", 1L, "name", "Java Fundamentals"));
+        then(courseRepository).should(never()).findResponsePageByType(any(), any());
+    }
+
+    @Test
+    void shouldSelectSortFieldWhenScrollingSparseRows() {
+        Set<CourseField> fields = EnumSet.of(CourseField.ID, CourseField.CODE);
+        given(courseRepository.findFieldsAfter(EnumSet.of(CourseField.ID, CourseField.CODE, CourseField.PRICE),
+                null, null, "price", null, null, 2))
+                .willReturn(List.of(
+                        Map.of("id", 4L, "code", "WEB-101", "price", new BigDecimal("149.99")),
+                        Map.of("id", 3L, "code", "PYTH-101", "price", new BigDecimal("199.99"))));
+
+        CursorResponse<Map<String, Object>> result = courseService.scroll(null, null, "price", null, 1, fields);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getNextCursor()).isEqualTo(new CourseCursor("price", new BigDecimal("149.99"), 4L).encode());
+    }
+
+    @Test
+    void shouldThrowWhenSparseCourseNotFound() {
+        given(courseRepository.findFieldsById(Set.of(CourseField.ID), 99L)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> courseService.findById(99L, Set.of(CourseField.ID)))
+                .isInstanceOf(CourseNotFoundException.class);
+    }
+
+    // ── Metrics Tests ──────────────────────────────────────────────
+
+    @Test
+    void shouldTimeReadsByQueryBranchAndPageSize() {
+        Pageable large = PageRequest.of(0, 75);
+        given(courseRepository.search(CourseType.ONLINE, "java", large)).willReturn(new PageImpl<>(List.of()));
+        given(courseRepository.findResponsePageByType(CourseType.ONLINE, pageable)).willReturn(new PageImpl<>(List.of()));
+
+        courseService.findAll(CourseType.ONLINE, "java", large);
+        courseService.findAll(CourseType.ONLINE, null, pageable);
+
+        assertThat(meterRegistry.get(CourseMetrics.TIMER)
+                .tags("method", "findAll", "query", "search", "projection", "dto", "size", "100").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(CourseMetrics.TIMER)
+                .tags("method", "findAll", "query", "type", "size", "10").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldTagFailedOperationsWithTheException() {
+        given(courseRepository.deleteCourse(99L)).willReturn(0);
+
+        assertThatThrownBy(() -> courseService.delete(99L)).isInstanceOf(CourseNotFoundException.class);
+
+        assertThat(meterRegistry.get(CourseMetrics.TIMER)
+                .tags("method", "delete", "exception", "CourseNotFoundException").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldBucketPageSizes() {
+        assertThat(CourseMetrics.sizeBucket(1)).isEqualTo("1");
+        assertThat(CourseMetrics.sizeBucket(2)).isEqualTo("10");
+        assertThat(CourseMetrics.sizeBucket(20)).isEqualTo("20");
+        assertThat(CourseMetrics.sizeBucket(21)).isEqualTo("50");
+        assertThat(CourseMetrics.sizeBucket(5000)).isEqualTo("+Inf");
+    }
 }
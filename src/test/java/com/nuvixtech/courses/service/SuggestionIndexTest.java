@@ -0,0 +1,97 @@
+package com.nuvixtech.courses.service;
+
+import com.nuvixtech.courses.dto.CourseSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SuggestionIndexTest {
+
+    private final SuggestionIndex index = SuggestionIndex.of(List.of(
+            course(3L, "PYTH-101", "Python for Beginners"),
+            course(1L, "JAVA-101", "Java Fundamentals"),
+            course(2L, "JAVA-201", "Advanced Java"),
+            course(4L, "DATA-101", "Data Science"),
+            course(5L, "WEB-101", "HTML y CSS")));
+
+    private static CourseSuggestion course(Long id, String code, String name) {
+        return new CourseSuggestion(id, code, name);
+    }
+
+    private static List<String> codes(SuggestionIndex index, String query) {
+        return index.suggest(query, 10).stream().map(CourseSuggestion::getCode).toList();
+    }
+
+    // ── Suggest Tests ──────────────────────────────────────────────
+
+    @Test
+    void shouldSuggestWordPrefixesOfNameAndCode() {
+        assertThat(codes(index, "ja")).containsExactly("JAVA-201", "JAVA-101");
+        assertThat(codes(index, "fund")).containsExactly("JAVA-101");
+        assertThat(codes(index, "101")).containsExactly("WEB-101", "DATA-101", "JAVA-101", "PYTH-101");
+        assertThat(codes(index, "java-2")).containsExactly("JAVA-201");
+        assertThat(codes(index, "ava")).isEmpty();
+        assertThat(codes(index, "  ")).isEmpty();
+    }
+
+    @Test
+    void shouldRankExactCodeThenCodeThenNamePrefix() {
+        SuggestionIndex ranked = SuggestionIndex.of(List.of(
+                course(1L, "X-1", "Curso de Java avanzado"),
+                course(2L, "X-2", "Java"),
+                course(3L, "JAVA", "Otro"),
+                course(4L, "JAVA-9", "Más"),
+                course(5L, "X-5", "Java para todos")));
+
+        assertThat(ranked.suggest("java", 10)).extracting(CourseSuggestion::getId).containsExactly(3L, 4L, 2L, 5L, 1L);
+        assertThat(ranked.suggest("Java", 2)).extracting(CourseSuggestion::getId).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void shouldMatchEveryWordIgnoringCaseAndAccents() {
+        SuggestionIndex updated = index.with(course(6L, "CIEN-1", "Introducción a la Ciencia"));
+
+        assertThat(updated.suggest("INTRO CIEN", 10)).extracting(CourseSuggestion::getName)
+                .containsExactly("Introducción a la Ciencia");
+        assertThat(updated.suggest("introduccion", 10)).hasSize(1);
+        assertThat(updated.suggest("html cs", 10)).extracting(CourseSuggestion::getId).containsExactly(5L);
+        assertThat(updated.suggest("html java", 10)).isEmpty();
+        assertThat(index.suggest("intro", 10)).isEmpty();
+    }
+
+    // ── Change Tests ───────────────────────────────────────────────
+
+    @Test
+    void shouldReplaceTheWordsOfAnUpdatedCourse() {
+        SuggestionIndex updated = index.with(course(2L, "JAVA-201", "Kotlin avanzado"));
+
+        assertThat(updated.size()).isEqualTo(5);
+        assertThat(codes(updated, "advanced")).isEmpty();
+        assertThat(codes(updated, "kot")).containsExactly("JAVA-201");
+        assertThat(codes(updated, "java")).containsExactly("JAVA-201", "JAVA-101");
+        assertThat(codes(index, "advanced")).containsExactly("JAVA-201");
+    }
+
+    @Test
+    void shouldMatchAFreshBuildAfterInsertsAndDeletes() {
+        SuggestionIndex changed = index
+                .with(course(9L, "JAVA-301", "Java Streams"))
+                .with(course(0L, "AAA-1", "Aaa java"))
+                .without(1L)
+                .without(42L);
+        SuggestionIndex rebuilt = SuggestionIndex.of(List.of(
+                course(0L, "AAA-1", "Aaa java"),
+                course(2L, "JAVA-201", "Advanced Java"),
+                course(3L, "PYTH-101", "Python for Beginners"),
+                course(4L, "DATA-101", "Data Science"),
+                course(5L, "WEB-101", "HTML y CSS"),
+                course(9L, "JAVA-301", "Java Streams")));
+
+        for (String query : List.of("java", "a", "1", "s", "java-", "zzz")) {
+            assertThat(codes(changed, query)).as(query).isEqualTo(codes(rebuilt, query));
+        }
+        assertThat(changed.size()).isEqualTo(6);
+    }
+}